@@ -0,0 +1,12 @@
+@echo off
+rem запуск GalleryApp с архивом AppCDS (mvn -Pcds package); без архива JVM запускается как обычно
+for %%I in ("%~dp0..\target") do set DIR=%%~fI
+set JAR=%DIR%\proekt_praktika-1.0-SNAPSHOT.jar
+
+set CDS=
+if exist "%DIR%\gallery.jsa" set CDS=-XX:SharedArchiveFile="%DIR%\gallery.jsa"
+
+rem classpath совпадает с тренировочным прогоном, иначе архив не используется
+set JAVA=java
+if defined JAVA_HOME set JAVA="%JAVA_HOME%\bin\java"
+%JAVA% %CDS% -cp "%JAR%;%DIR%\lib\*" com.gallery.app.Launcher %*
@@ -0,0 +1,12 @@
+#!/bin/sh
+# запуск GalleryApp с архивом AppCDS (mvn -Pcds package); без архива JVM запускается как обычно
+DIR="$(cd "$(dirname "$0")/../target" && pwd)"
+JAR="$DIR/proekt_praktika-1.0-SNAPSHOT.jar"
+
+CDS=""
+if [ -f "$DIR/gallery.jsa" ]; then
+    CDS="-XX:SharedArchiveFile=$DIR/gallery.jsa"
+fi
+
+# classpath совпадает с тренировочным прогоном, иначе архив не используется
+exec "${JAVA_HOME:+$JAVA_HOME/bin/}java" $CDS -cp "$JAR:$DIR/lib/*" com.gallery.app.Launcher "$@"
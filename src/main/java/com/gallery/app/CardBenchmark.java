@@ -0,0 +1,73 @@
+package com.gallery.app;
+
+import com.gallery.util.CardTemplates;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.ScrollPane;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// время создания одной карточки: разбор user_*_row.fxml с lookup по id (как раньше)
+// и сборка кодом через CardTemplates. Запуск: java ... com.gallery.app.CardBenchmark [карточек]
+public class CardBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(CardBenchmark.class);
+
+    private static final int WARMUP = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                System.out.printf("%-12s %12s %12s%n", "карточка", "FXML, мкс", "код, мкс");
+                compare("картина", count, () -> fxml("/views/user_painting_row.fxml", "#descriptionScroll"),
+                    () -> new CardTemplates.PaintingRow().root);
+                compare("автор", count, () -> fxml("/views/user_artists_row.fxml", "#biographyScroll"),
+                    () -> new CardTemplates.ArtistRow().root);
+                compare("выставка", count, () -> fxml("/views/user_exhibition_row.fxml", "#descriptionText"),
+                    () -> new CardTemplates.ExhibitionRow().root);
+                compare("пользователь", count, () -> fxml("/views/user_row.fxml", "#roleComboBox"),
+                    () -> new CardTemplates.UserRow().root);
+            } catch (Exception e) {
+                logger.error("Ошибка при замере", e);
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void compare(String name, int count, Supplier<Parent> before, Supplier<Parent> after) {
+        measure(before, WARMUP);
+        measure(after, WARMUP);
+        System.out.printf("%-12s %12.1f %12.1f%n", name, measure(before, count), measure(after, count));
+    }
+
+    // среднее время одной карточки, мкс
+    private static double measure(Supplier<Parent> factory, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (factory.get() == null) throw new IllegalStateException();
+        }
+        return (System.nanoTime() - start) / 1000.0 / count;
+    }
+
+    // прежний способ: разбор FXML и поиск элементов карточки
+    private static Parent fxml(String path, String scrollId) {
+        try {
+            Parent row = new FXMLLoader(CardBenchmark.class.getResource(path)).load();
+            Object scroll = row.lookup(scrollId);
+            if (scroll instanceof ScrollPane pane) pane.getContent();
+            return row;
+        } catch (Exception e) {
+            throw new IllegalStateException("Ошибка загрузки " + path, e);
+        }
+    }
+}
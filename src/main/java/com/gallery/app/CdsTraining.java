@@ -0,0 +1,88 @@
+package com.gallery.app;
+
+import com.gallery.config.HibernateUtil;
+import com.gallery.controller.MainControllerBase;
+import com.gallery.entity.User;
+import com.gallery.service.UserService;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// тренировочный прогон для архива AppCDS (профиль cds в pom.xml): вход -> главное окно -> картины.
+// Классы, загруженные за прогон (JavaFX, FXML, Hibernate, pgjdbc, BCrypt), сохраняются в архив при выходе JVM.
+// Запуск: java -XX:ArchiveClassesAtExit=... -cp ... com.gallery.app.CdsTraining [логин пароль]
+public class CdsTraining {
+    private static final Logger logger = LoggerFactory.getLogger(CdsTraining.class);
+
+    // время на фоновую загрузку экранов после входа
+    private static final long SETTLE_MS = Long.getLong("gallery.training.settle_ms", 5000);
+
+    public static void main(String[] args) throws InterruptedException {
+        String username = args.length > 1 ? args[0] : "admin";
+        String password = args.length > 1 ? args[1] : "admin";
+
+        HibernateUtil.start();
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            // вход: запрос к БД и проверка пароля BCrypt
+            User user = new UserService().authenticate(username, password);
+            if (user == null) {
+                logger.warn("Пользователь {} не найден, экраны открываются без входа", username);
+                user = new User();
+                user.setUsername(username);
+                user.setRole("admin");
+            }
+            User current = user;
+
+            Platform.startup(() -> {
+                try {
+                    Stage stage = new Stage();
+                    stage.setScene(scene(new FXMLLoader(CdsTraining.class.getResource("/views/login.fxml")).load()));
+                    stage.show();
+
+                    // главное окно (с фоновой подготовкой экранов) и экран картин
+                    FXMLLoader main = new FXMLLoader(CdsTraining.class.getResource(
+                        "admin".equalsIgnoreCase(current.getRole()) ? "/views/main.fxml" : "/views/main_user.fxml"));
+                    Parent mainRoot = main.load();
+                    if (main.getController() instanceof MainControllerBase controller) {
+                        controller.setUser(current);
+                    }
+                    stage.setScene(scene(mainRoot));
+                    stage.setScene(scene(new FXMLLoader(CdsTraining.class.getResource(
+                        "admin".equalsIgnoreCase(current.getRole()) ? "/views/paintings.fxml" : "/views/user_paintings.fxml")).load()));
+
+                    PauseTransition settle = new PauseTransition(Duration.millis(SETTLE_MS));
+                    settle.setOnFinished(e -> done.countDown());
+                    settle.play();
+                } catch (Exception e) {
+                    logger.error("Ошибка тренировочного прогона", e);
+                    done.countDown();
+                }
+            });
+            done.await();
+        } catch (Exception e) {
+            logger.error("Ошибка тренировочного прогона", e);
+        } finally {
+            Platform.exit();
+            HibernateUtil.shutdown();
+        }
+        // архив записывается при выходе JVM
+        System.exit(0);
+    }
+
+    private static Scene scene(Parent root) {
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(Objects.requireNonNull(CdsTraining.class.getResource("/application.css")).toExternalForm());
+        return scene;
+    }
+}
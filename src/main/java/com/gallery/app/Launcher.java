@@ -0,0 +1,10 @@
+package com.gallery.app;
+
+// точка входа для запуска с classpath (java -cp ..., архив AppCDS): главный класс-наследник Application
+// java запускает только при JavaFX на module path, а CDS архивирует классы только из jar на classpath
+public class Launcher {
+
+    public static void main(String[] args) {
+        Main.main(args);
+    }
+}
@@ -1,6 +1,8 @@
 package com.gallery.app;
 
+import com.gallery.config.HibernateUtil;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -14,6 +16,16 @@ import java.net.URL;
 
 public class Main extends Application {
 
+    // замер запуска (app.StartupBenchmark): строка в stdout, когда форма входа готова к вводу, и выход
+    static final String STARTUP_PROBE = "gallery.startup.probe";
+    static final String STARTUP_READY = "STARTUP_READY";
+
+    @Override
+    public void init() {
+        // подключение к БД (Hibernate, пул соединений) - в фоне, параллельно с показом окна входа
+        HibernateUtil.start();
+    }
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         // FXML
@@ -58,6 +70,19 @@ public class Main extends Application {
         }
 
         primaryStage.show();
+
+        if (Boolean.getBoolean(STARTUP_PROBE)) {
+            Platform.runLater(() -> {
+                System.out.println(STARTUP_READY);
+                Platform.exit();
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        // закрытие пула соединений и отчет по кэшу второго уровня
+        HibernateUtil.shutdown();
     }
 
     public static void main(String[] args) {
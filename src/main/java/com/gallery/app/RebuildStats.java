@@ -0,0 +1,23 @@
+package com.gallery.app;
+
+import com.gallery.config.HibernateUtil;
+import com.gallery.service.StatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// пересчет сводных таблиц статистики (после ручных изменений БД или сбоя)
+public class RebuildStats {
+    private static final Logger logger = LoggerFactory.getLogger(RebuildStats.class);
+
+    public static void main(String[] args) {
+        try {
+            StatsService statsService = new StatsService();
+            statsService.rebuild();
+            System.out.println("Статистика пересчитана: " + statsService.getSummary());
+        } catch (Exception e) {
+            logger.error("Ошибка при пересчете статистики", e);
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+}
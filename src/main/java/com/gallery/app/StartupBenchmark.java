@@ -0,0 +1,79 @@
+package com.gallery.app;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// время до готовой формы входа (запуск JVM, JavaFX, login.fxml) без архива AppCDS и с ним.
+// Каждый запуск - отдельная JVM с тем же classpath; время - от старта процесса до строки Main.STARTUP_READY.
+// Запуск (после mvn -Pcds package):
+//   java -cp "target/<jar>;target/lib/*" com.gallery.app.StartupBenchmark [запусков] [архив]
+public class StartupBenchmark {
+
+    private static final String DEFAULT_ARCHIVE = "target/gallery.jsa";
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String archive = args.length > 1 ? args[1] : DEFAULT_ARCHIVE;
+        if (!new File(archive).isFile()) {
+            System.out.println("Архив " + archive + " не найден (mvn -Pcds package)");
+            return;
+        }
+
+        // первый запуск прогревает файловый кэш ОС и не учитывается
+        launch(List.of("-Xshare:auto"));
+
+        long[] without = new long[runs];
+        long[] with = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            // поочередно, чтобы фоновая нагрузка влияла на оба варианта одинаково
+            without[i] = launch(List.of("-Xshare:auto"));
+            with[i] = launch(List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:on"));
+        }
+
+        System.out.printf("%-16s %10s %10s%n", "", "медиана, мс", "мин, мс");
+        print("без архива", without);
+        print("с архивом", with);
+    }
+
+    // время до готовности формы входа, мс
+    private static long launch(List<String> jvmOptions) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-D" + Main.STARTUP_PROBE + "=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Launcher.class.getName());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.equals(Main.STARTUP_READY)) {
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    // остаток вывода дочитывается, чтобы процесс не блокировался
+                    while (out.readLine() != null) { }
+                    return elapsed;
+                }
+            }
+        } finally {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        throw new IllegalStateException("Процесс завершился без " + Main.STARTUP_READY + ", код " + process.exitValue());
+    }
+
+    private static void print(String name, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-16s %10d %10d%n", name, sorted[sorted.length / 2], sorted[0]);
+    }
+}
@@ -1,10 +1,17 @@
 package com.gallery.app;
 
 import com.gallery.config.HibernateUtil;
+import com.gallery.entity.Artist;
+import com.gallery.entity.Painting;
+import com.gallery.repository.ArtistRepository;
+import com.gallery.repository.PaintingRepository;
 import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 public class TestHibernate {
     private static final Logger logger = LoggerFactory.getLogger(TestHibernate.class);
 
@@ -12,10 +19,51 @@ public class TestHibernate {
         // Проверка подключения
         try (Session ignored = HibernateUtil.getSessionFactory().openSession()) {
             System.out.println("Подключение к PostgreSQL успешно!");
+
+            checkPaintingsQueryCount();
+            checkArtistCache();
         } catch (Exception e) {
             logger.error("Ошибка при подключении к PostgreSQL", e);
         } finally {
             HibernateUtil.shutdown();
         }
     }
+
+    // картины с художниками должны загружаться одним запросом (без N+1)
+    private static void checkPaintingsQueryCount() {
+        Statistics stats = HibernateUtil.getSessionFactory().getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        List<Painting> paintings = new PaintingRepository().findAllWithArtist();
+        paintings.forEach(p -> {
+            if (p.getArtist() != null) p.getArtist().getFullName();
+        });
+
+        long statements = stats.getPrepareStatementCount();
+        System.out.println("findAllWithArtist: картин " + paintings.size() + ", SQL запросов " + statements);
+        if (statements != 1) {
+            throw new IllegalStateException("Ожидался 1 SQL запрос, выполнено: " + statements);
+        }
+    }
+
+    // повторное чтение авторов не должно идти в базу
+    private static void checkArtistCache() {
+        ArtistRepository repository = new ArtistRepository();
+        List<Artist> artists = repository.findAll();
+        if (artists.isEmpty()) return;
+
+        Statistics stats = HibernateUtil.getSessionFactory().getStatistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        repository.findAll();
+        repository.findById(artists.get(0).getId());
+
+        long statements = stats.getPrepareStatementCount();
+        System.out.println(HibernateUtil.cacheReport());
+        if (statements != 0) {
+            throw new IllegalStateException("Ожидалось чтение из кэша, выполнено SQL запросов: " + statements);
+        }
+    }
 }
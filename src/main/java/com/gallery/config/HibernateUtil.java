@@ -3,8 +3,11 @@ package com.gallery.config;
 import com.gallery.entity.*;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.io.InputStream;
 
 import org.slf4j.Logger;
@@ -15,7 +18,9 @@ public class HibernateUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(HibernateUtil.class);
 
-    private static final SessionFactory sessionFactory = buildSessionFactory();
+    // SessionFactory строится в фоне с запуска приложения (start), а не при первом обращении к репозиторию;
+    // ждет сборки только первый запрос, которому она нужна
+    private static volatile CompletableFuture<SessionFactory> bootstrap;
 
     private static SessionFactory buildSessionFactory() {
         try {
@@ -31,18 +36,51 @@ public class HibernateUtil {
             props.load(input);
 
 
+            String url = "jdbc:postgresql://" + props.getProperty("db.host") + ":" + props.getProperty("db.port") + "/" + props.getProperty("db.name");
+
+            // схема БД - версионными миграциями до запуска Hibernate
+            SchemaMigrations.migrate(url, props.getProperty("db.user"), props.getProperty("db.password"));
+
             Configuration configuration = new Configuration();
 
             // JDBC настройки
             configuration.setProperty("hibernate.connection.driver_class", "org.postgresql.Driver");
-            configuration.setProperty("hibernate.connection.url", "jdbc:postgresql://" + props.getProperty("db.host") + ":" + props.getProperty("db.port") + "/" + props.getProperty("db.name"));
+            configuration.setProperty("hibernate.connection.url", url);
             configuration.setProperty("hibernate.connection.username", props.getProperty("db.user"));
             configuration.setProperty("hibernate.connection.password", props.getProperty("db.password"));
 
+            // пул соединений
+            configuration.setProperty("hibernate.connection.provider_class", PooledConnectionProvider.class.getName());
+            configuration.setProperty(PooledConnectionProvider.MIN_SIZE, props.getProperty("db.pool.min_size", "2"));
+            configuration.setProperty(PooledConnectionProvider.MAX_SIZE, props.getProperty("db.pool.max_size", "10"));
+            configuration.setProperty(PooledConnectionProvider.IDLE_TIMEOUT, props.getProperty("db.pool.idle_timeout_ms", "600000"));
+            configuration.setProperty(PooledConnectionProvider.CONNECTION_TIMEOUT, props.getProperty("db.pool.connection_timeout_ms", "30000"));
+            configuration.setProperty(PooledConnectionProvider.VALIDATION_TIMEOUT, props.getProperty("db.pool.validation_timeout_s", "5"));
+            configuration.setProperty(PooledConnectionProvider.LEAK_DETECTION, props.getProperty("db.pool.leak_detection_ms", "0"));
+
             // Настройки Hibernate
             configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
             configuration.setProperty("hibernate.show_sql", "true");
-            configuration.setProperty("hibernate.hbm2ddl.auto", "update"); // создание таблиц если их нет
+            // схему создают миграции (SchemaMigrations); validate - сверка сущностей со схемой при отладке
+            configuration.setProperty("hibernate.hbm2ddl.auto", props.getProperty("hibernate.hbm2ddl.auto", "none"));
+
+            // JDBC батчи
+            configuration.setProperty("hibernate.jdbc.batch_size", props.getProperty("hibernate.jdbc.batch_size", "50"));
+            configuration.setProperty("hibernate.order_inserts", "true");
+            configuration.setProperty("hibernate.order_updates", "true");
+
+            // ленивые связи догружаются пачками, а не по одной
+            configuration.setProperty("hibernate.default_batch_fetch_size", "16");
+
+            // кэш второго уровня для редко меняющихся сущностей (авторы, выставки)
+            configuration.setProperty("hibernate.cache.use_second_level_cache", props.getProperty("hibernate.cache.use_second_level_cache", "true"));
+            configuration.setProperty("hibernate.cache.use_query_cache", props.getProperty("hibernate.cache.use_query_cache", "true"));
+            configuration.setProperty("hibernate.cache.region.factory_class", LocalRegionFactory.class.getName());
+            configuration.setProperty(LocalRegionFactory.MAX_ENTRIES, props.getProperty("db.cache.max_entries", "10000"));
+            configuration.setProperty(LocalRegionFactory.TTL, props.getProperty("db.cache.ttl_ms", "600000"));
+
+            // статистика запросов (для проверки количества SQL)
+            configuration.setProperty("hibernate.generate_statistics", props.getProperty("hibernate.generate_statistics", "false"));
 
             // Подключение сущности
             configuration.addAnnotatedClass(User.class);
@@ -58,11 +96,49 @@ public class HibernateUtil {
         }
     }
 
+    // запуск сборки SessionFactory в отдельном потоке (повторный вызов возвращает ту же сборку)
+    public static CompletableFuture<SessionFactory> start() {
+        CompletableFuture<SessionFactory> current = bootstrap;
+        if (current != null) return current;
+
+        synchronized (HibernateUtil.class) {
+            if (bootstrap == null) {
+                CompletableFuture<SessionFactory> future = new CompletableFuture<>();
+                Thread.ofPlatform().name("hibernate-bootstrap").daemon().start(() -> {
+                    try {
+                        long started = System.nanoTime();
+                        future.complete(buildSessionFactory());
+                        logger.info("SessionFactory готова за {} мс", (System.nanoTime() - started) / 1_000_000);
+                    } catch (Throwable ex) {
+                        future.completeExceptionally(ex);
+                    }
+                });
+                bootstrap = future;
+            }
+            return bootstrap;
+        }
+    }
+
+    // готовая SessionFactory; если сборка еще идет - ожидание ее окончания
     public static SessionFactory getSessionFactory() {
-        return sessionFactory;
+        try {
+            return start().join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // отчет по попаданиям в кэш второго уровня
+    public static String cacheReport() {
+        var regionFactory = getSessionFactory().unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        return regionFactory instanceof LocalRegionFactory local ? local.getReport() : "Кэш второго уровня отключен";
     }
 
     public static void shutdown() {
-        getSessionFactory().close();
+        CompletableFuture<SessionFactory> current = bootstrap;
+        if (current == null) return; // к базе не подключались
+
+        // сборка еще идет - закрыть после окончания; ошибка сборки уже записана в лог
+        current.thenAccept(SessionFactory::close);
     }
 }
@@ -0,0 +1,175 @@
+package com.gallery.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// кэш второго уровня Hibernate в памяти процесса.
+// Каждый регион - LRU с ограничением по количеству записей и времени жизни.
+public class LocalRegionFactory extends RegionFactoryTemplate {
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = LoggerFactory.getLogger(LocalRegionFactory.class);
+
+    // ключи настроек (для отдельного региона: gallery.cache.<регион>.max_entries)
+    public static final String MAX_ENTRIES = "gallery.cache.max_entries";
+    public static final String TTL = "gallery.cache.ttl_ms";
+
+    // регионы живут только в памяти процесса и не сериализуются
+    private final transient Map<String, Region> regions = new ConcurrentHashMap<>();
+    private transient Map<String, Object> settings = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        log.info(getReport());
+        regions.values().forEach(Region::evictData);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return region(regionConfig.getRegionName(), true);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return region(regionName, true);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // метки изменения таблиц не вытесняются, иначе кэш запросов вернет устаревшие данные
+        return region(regionName, false);
+    }
+
+    // попадания и промахи по регионам
+    public String getReport() {
+        StringBuilder sb = new StringBuilder("Кэш второго уровня:");
+        regions.values().stream()
+            .sorted((a, b) -> a.name.compareTo(b.name))
+            .forEach(r -> {
+                long hits = r.hits.sum();
+                long misses = r.misses.sum();
+                long total = hits + misses;
+                sb.append(String.format("%n  %s: записей %d, попаданий %d, промахов %d (%.1f%%), вытеснено %d",
+                    r.name, r.size(), hits, misses, total == 0 ? 0.0 : hits * 100.0 / total, r.evictions.sum()));
+            });
+        return sb.toString();
+    }
+
+    private Region region(String name, boolean bounded) {
+        return regions.computeIfAbsent(name, n -> {
+            int maxEntries = bounded ? intSetting(n, MAX_ENTRIES, 10_000) : Integer.MAX_VALUE;
+            long ttlMs = bounded ? longSetting(n, TTL, 600_000) : 0;
+            log.debug("Регион кэша {}: max={}, ttl={} мс", n, maxEntries, ttlMs);
+            return new Region(n, maxEntries, ttlMs);
+        });
+    }
+
+    // настройка региона или общая
+    private int intSetting(String region, String key, int defaultValue) {
+        Object value = settings.getOrDefault(regionKey(region, key), settings.get(key));
+        return value == null || value.toString().isBlank() ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+
+    private long longSetting(String region, String key, long defaultValue) {
+        Object value = settings.getOrDefault(regionKey(region, key), settings.get(key));
+        return value == null || value.toString().isBlank() ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+    private static String regionKey(String region, String key) {
+        return key.replace("gallery.cache.", "gallery.cache." + region + ".");
+    }
+
+    private record Entry(Object value, long expiresAt) {}
+
+    // регион: LRU с временем жизни записей
+    private static final class Region implements DomainDataStorageAccess {
+        final String name;
+        final int maxEntries;
+        final long ttlMs;
+        final LinkedHashMap<Object, Entry> map = new LinkedHashMap<>(64, 0.75f, true);
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        Region(String name, int maxEntries, long ttlMs) {
+            this.name = name;
+            this.maxEntries = maxEntries;
+            this.ttlMs = ttlMs;
+        }
+
+        @Override
+        public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Entry entry = map.get(key);
+            if (entry != null && entry.expiresAt() < System.currentTimeMillis()) {
+                map.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+
+        @Override
+        public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            map.put(key, new Entry(value, ttlMs > 0 ? System.currentTimeMillis() + ttlMs : Long.MAX_VALUE));
+
+            Iterator<Object> it = map.keySet().iterator();
+            while (map.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            Entry entry = map.get(key);
+            return entry != null && entry.expiresAt() >= System.currentTimeMillis();
+        }
+
+        @Override
+        public synchronized void evictData() {
+            map.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            map.remove(key);
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
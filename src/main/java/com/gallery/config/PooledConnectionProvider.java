@@ -0,0 +1,309 @@
+package com.gallery.config;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// пул JDBC соединений для Hibernate (вместо встроенного DriverManager пула)
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = LoggerFactory.getLogger(PooledConnectionProvider.class);
+
+    // ключи настроек пула
+    public static final String MIN_SIZE = "gallery.pool.min_size";
+    public static final String MAX_SIZE = "gallery.pool.max_size";
+    public static final String IDLE_TIMEOUT = "gallery.pool.idle_timeout_ms";
+    public static final String CONNECTION_TIMEOUT = "gallery.pool.connection_timeout_ms";
+    public static final String VALIDATION_TIMEOUT = "gallery.pool.validation_timeout_s";
+    public static final String VALIDATION_BYPASS = "gallery.pool.validation_bypass_ms";
+    public static final String LEAK_DETECTION = "gallery.pool.leak_detection_ms";
+
+    private String url;
+    private final Properties connectionProps = new Properties();
+
+    private int minSize;
+    private int maxSize;
+    private long idleTimeoutMs;
+    private long connectionTimeoutMs;
+    private int validationTimeoutSec;
+    private long validationBypassMs;
+    private long leakDetectionMs;
+
+    // состояние пула transient: Service наследует Serializable, соединения не сериализуются
+    // свободные соединения (последнее возвращенное берется первым)
+    private final transient LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    // выданные соединения для поиска утечек
+    private final transient Map<PooledConnection, Borrow> borrowed = new ConcurrentHashMap<>();
+
+    private transient Semaphore permits;
+    private transient ScheduledExecutorService housekeeper;
+    private volatile boolean stopped;
+
+    @Override
+    public void configure(Map<String, Object> settings) {
+        url = (String) settings.get("hibernate.connection.url");
+        putIfPresent(settings, "hibernate.connection.username", "user");
+        putIfPresent(settings, "hibernate.connection.password", "password");
+
+        minSize = intSetting(settings, MIN_SIZE, 2);
+        maxSize = Math.max(1, intSetting(settings, MAX_SIZE, 10));
+        minSize = Math.min(minSize, maxSize);
+        idleTimeoutMs = longSetting(settings, IDLE_TIMEOUT, 600_000);
+        connectionTimeoutMs = longSetting(settings, CONNECTION_TIMEOUT, 30_000);
+        validationTimeoutSec = intSetting(settings, VALIDATION_TIMEOUT, 5);
+        validationBypassMs = longSetting(settings, VALIDATION_BYPASS, 500);
+        leakDetectionMs = longSetting(settings, LEAK_DETECTION, 0);
+
+        permits = new Semaphore(maxSize, true);
+
+        // прогрев минимального количества соединений
+        for (int i = 0; i < minSize; i++) {
+            try {
+                idle.offerLast(new PooledConnection(openPhysical()));
+            } catch (SQLException e) {
+                log.warn("Не удалось открыть начальное соединение пула", e);
+                break;
+            }
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "gallery-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(idleTimeoutMs, leakDetectionMs > 0 ? leakDetectionMs : idleTimeoutMs) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        log.info("Пул соединений: min={}, max={}, idleTimeout={} мс, leakDetection={} мс",
+            minSize, maxSize, idleTimeoutMs, leakDetectionMs);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (stopped) {
+            throw new SQLException("Пул соединений остановлен");
+        }
+
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Нет свободных соединений за " + connectionTimeoutMs + " мс (max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Ожидание соединения прервано", e);
+        }
+
+        PooledConnection pooled = null;
+        try {
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isValid(pooled)) break;
+                closeQuietly(pooled.physical);
+            }
+            if (pooled == null) {
+                pooled = new PooledConnection(openPhysical());
+            }
+
+            pooled.physical.setAutoCommit(true);
+            borrowed.put(pooled, new Borrow(System.currentTimeMillis(), leakDetectionMs > 0 ? new Exception("Соединение выдано здесь") : null));
+            return pooled.proxy;
+        } catch (SQLException | RuntimeException e) {
+            // соединение уже взято из пула или открыто, но не выдано
+            if (pooled != null) closeQuietly(pooled.physical);
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        connection.close(); // proxy возвращает соединение в пул
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(getClass());
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return unwrapType.cast(this);
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        if (housekeeper != null) housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled.physical);
+        }
+        if (!borrowed.isEmpty()) {
+            log.warn("Пул остановлен, не возвращено соединений: {}", borrowed.size());
+        }
+    }
+
+    // количество свободных и выданных соединений
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    private void release(PooledConnection pooled) {
+        if (borrowed.remove(pooled) == null) return; // повторный close()
+
+        try {
+            if (stopped || pooled.physical.isClosed()) {
+                closeQuietly(pooled.physical);
+            } else {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback(); // незавершенная транзакция не должна попасть к следующему
+                }
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            log.warn("Соединение сброшено при возврате в пул", e);
+            closeQuietly(pooled.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // проверка соединения перед выдачей. isValid - запрос к серверу, поэтому недавно
+    // возвращенное соединение (как в HikariCP) проверяется только на закрытие
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) return false;
+            return System.currentTimeMillis() - pooled.lastUsed < validationBypassMs
+                || pooled.physical.isValid(validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // вытеснение простаивающих соединений и поиск утечек
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : idle) {
+            if (idle.size() <= minSize) break;
+            if (now - pooled.lastUsed > idleTimeoutMs && idle.removeLastOccurrence(pooled)) {
+                closeQuietly(pooled.physical);
+            }
+        }
+
+        if (leakDetectionMs > 0) {
+            borrowed.forEach((pooled, borrow) -> {
+                if (!borrow.reported && now - borrow.since > leakDetectionMs) {
+                    borrow.reported = true;
+                    log.warn("Возможная утечка соединения: не возвращено {} мс", now - borrow.since, borrow.origin);
+                }
+            });
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url, connectionProps);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) { }
+    }
+
+    private void putIfPresent(Map<String, Object> settings, String key, String jdbcKey) {
+        Object value = settings.get(key);
+        if (value != null) connectionProps.setProperty(jdbcKey, value.toString());
+    }
+
+    private static int intSetting(Map<String, Object> settings, String key, int defaultValue) {
+        Object value = settings.get(key);
+        return value == null || value.toString().isBlank() ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+
+    private static long longSetting(Map<String, Object> settings, String key, long defaultValue) {
+        Object value = settings.get(key);
+        return value == null || value.toString().isBlank() ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+    private static final class Borrow {
+        final long since;
+        final Exception origin;
+        volatile boolean reported;
+
+        Borrow(long since, Exception origin) {
+            this.since = since;
+            this.origin = origin;
+        }
+    }
+
+    // обертка над физическим соединением, close() возвращает его в пул
+    private final class PooledConnection implements InvocationHandler {
+        final Connection physical;
+        final Connection proxy;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release(this);
+                    return null;
+                case "isClosed":
+                    return !borrowed.containsKey(this) || physical.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
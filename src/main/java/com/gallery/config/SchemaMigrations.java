@@ -0,0 +1,136 @@
+package com.gallery.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// версионные миграции схемы (вместо hbm2ddl): SQL-скрипты db/migration/V<версия>__<описание>.sql
+// применяются по порядку один раз, примененные версии записываются в schema_version.
+// Обычный запуск - короткий запрос к schema_version, без разбора всей схемы.
+public final class SchemaMigrations {
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private static final String LOCATION = "db/migration/";
+
+    // скрипты по порядку версий; новые изменения схемы - только новым скриптом в конце списка
+    private static final List<String> SCRIPTS = List.of(
+        "V1__schema.sql",
+        "V2__stats_rollup.sql",
+        "V3__full_text_search.sql",
+        "V4__painting_exhibition_sequence.sql");
+
+    private static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT PRIMARY KEY, " +
+            "script VARCHAR(200) NOT NULL, " +
+            "applied_at TIMESTAMP NOT NULL DEFAULT now())";
+
+    // ключ блокировки, чтобы два клиента не применяли миграции одновременно
+    private static final long LOCK_KEY = 0x6761_6c6c_6572_79L;
+
+    private SchemaMigrations() {}
+
+    public static void migrate(String url, String user, String password) {
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            // обычный запуск: все версии уже применены
+            if (pending(applied(connection)).isEmpty()) {
+                log.info("Схема актуальна (версия {}), проверка за {} мс", SCRIPTS.size(), (System.nanoTime() - start) / 1_000_000);
+                return;
+            }
+
+            connection.setAutoCommit(false);
+            // сначала блокировка: параллельный CREATE TABLE IF NOT EXISTS из двух клиентов
+            // может упасть на уникальном ключе системного каталога
+            try (Statement st = connection.createStatement()) {
+                st.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+                st.execute(CREATE_TABLE);
+            }
+            // повторная проверка под блокировкой
+            Set<Integer> applied = applied(connection);
+            if (applied.isEmpty() && tableExists(connection, "users")) {
+                // база создана прежним init.sql или hbm2ddl: исходная схема уже есть,
+                // следующие скрипты написаны так, что повторное применение безопасно
+                record(connection, 1, "baseline");
+                applied.add(1);
+                log.info("Существующая база отмечена версией 1");
+            }
+            try {
+                for (int version : pending(applied)) {
+                    String script = SCRIPTS.get(version - 1);
+                    try (Statement st = connection.createStatement()) {
+                        st.execute(read(script));
+                    }
+                    record(connection, version, script);
+                    log.info("Применена миграция {}", script);
+                }
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                // схема остается в прежней версии целиком
+                connection.rollback();
+                throw e;
+            }
+            log.info("Миграции схемы выполнены за {} мс", (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException | IOException e) {
+            log.error("Ошибка при миграции схемы", e);
+            throw new RuntimeException("Ошибка при миграции схемы", e);
+        }
+    }
+
+    // примененные версии (пусто, если таблицы еще нет)
+    private static Set<Integer> applied(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        if (!tableExists(connection, "schema_version")) return versions;
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private static List<Integer> pending(Set<Integer> applied) {
+        List<Integer> versions = new ArrayList<>();
+        for (int version = 1; version <= SCRIPTS.size(); version++) {
+            if (!applied.contains(version)) versions.add(version);
+        }
+        return versions;
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT to_regclass('" + table + "') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void record(Connection connection, int version, String script) throws SQLException {
+        try (var ps = connection.prepareStatement("INSERT INTO schema_version (version, script) VALUES (?, ?)")) {
+            ps.setInt(1, version);
+            ps.setString(2, script);
+            ps.executeUpdate();
+        }
+    }
+
+    private static String read(String script) throws IOException {
+        try (InputStream input = SchemaMigrations.class.getClassLoader().getResourceAsStream(LOCATION + script)) {
+            if (input == null) {
+                throw new IOException("Скрипт миграции не найден: " + LOCATION + script);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.gallery.controller;
 
 import com.gallery.entity.Artist;
 import com.gallery.service.ArtistService;
+import com.gallery.service.ImageService;
+import com.gallery.service.ThumbnailService;
+import com.gallery.util.FxAsync;
 
 // JavaFX
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
@@ -17,7 +19,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -46,6 +47,8 @@ public class ArtistAddEditController {
     private boolean isEdit = false;
 
     private final ArtistService artistService = new ArtistService();
+    private final ImageService imageService = ImageService.getInstance();
+    private final ThumbnailService thumbnailService = ThumbnailService.getInstance();
 
     private String selectedImageName = null;
 
@@ -87,16 +90,8 @@ public class ArtistAddEditController {
             return;
         }
 
-        try {
-            Image img = new Image(Files.newInputStream(imagePath));
-            previewImage.setImage(img);
-            imageNameLabel.setText(imageName);
-        } catch (IOException e) {
-            log.error("Ошибка при загрузке изображения: {}", imageName, e);
-
-            previewImage.setImage(null);
-            imageNameLabel.setText("");
-        }
+        imageService.loadFileInto(previewImage, imagePath, 80, 80);
+        imageNameLabel.setText(imageName);
     }
 
     private void setupDatePickerMask(DatePicker datePicker) {
@@ -194,10 +189,8 @@ public class ArtistAddEditController {
 
         try {
             Path targetDir = Paths.get("src/main/resources/images/artists/");
-            Files.createDirectories(targetDir);
-
-            Path targetPath = targetDir.resolve(file.getName());
-            Files.copy(file.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+            // копия оригинала и уменьшенные копии для списков
+            thumbnailService.importImage(file.toPath(), targetDir, "/images/artists/" + file.getName());
 
             selectedImageName = file.getName();
             showPreviewImage(selectedImageName);
@@ -245,15 +238,13 @@ public class ArtistAddEditController {
         artist.setDeathDate(deathDate);
         artist.setBiography(biographyField.getText());
 
-        try {
-            if (isEdit) artistService.updateArtist(artist);
+        // сохранение в фоне, окно закрывается после успешного завершения
+        boolean edit = isEdit;
+        FxAsync.run(() -> {
+            if (edit) artistService.updateArtist(artist);
             else artistService.addArtist(artist);
-        } catch (Exception ex) {
-            showError("Ошибка при сохранении автора: " + ex.getMessage());
-            return;
-        }
-
-        dialogStage.close();
+            return null;
+        }, ignored -> dialogStage.close(), ex -> showError("Ошибка при сохранении автора: " + ex.getMessage()));
     }
 
     @FXML
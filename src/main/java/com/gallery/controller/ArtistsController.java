@@ -1,9 +1,12 @@
 package com.gallery.controller;
 
 import com.gallery.entity.Artist;
+import com.gallery.repository.PageRequest;
 import com.gallery.service.ArtistService;
+import com.gallery.service.ImageService;
+import com.gallery.util.FxAsync;
+import com.gallery.util.LazyPagedList;
 import com.gallery.util.TableCellFactoryUtil;
-import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,23 +14,20 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ArtistsController {
+public class ArtistsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(ArtistsController.class);
 
     @FXML
@@ -47,9 +47,13 @@ public class ArtistsController {
     private TextField searchField;
 
     private final ArtistService artistService = new ArtistService();
+    private final ImageService imageService = ImageService.getInstance();
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
 
-    private ObservableList<Artist> allArtists;
-    private FilteredList<Artist> filteredArtists;
+    // строки таблицы подгружаются страницами из БД
+    private LazyPagedList<Artist> artists;
 
     @FXML
     private void initialize() {
@@ -59,18 +63,21 @@ public class ArtistsController {
         // запрет на перемещение колонок
         setColumnsNoDrag(artistsTable);
 
-        // базовый список
-        allArtists = FXCollections.observableArrayList(artistService.getAllArtists());
-        filteredArtists = new FilteredList<>(allArtists, a -> true);
-
-        // TableView работает с FilteredList
-        artistsTable.setItems(filteredArtists);
-
-        // сортировка по колонкам
-        SortedList<Artist> sortedArtists = new SortedList<>(filteredArtists);
-        sortedArtists.comparatorProperty().bind(artistsTable.comparatorProperty());
+        // постраничный список, поиск и сортировка (по ФИО) выполняются в БД
+        artists = new LazyPagedList<>(
+            new LazyPagedList.PageSource<>() {
+                @Override
+                public long count(String search) {
+                    return artistService.countArtists(search);
+                }
 
-        artistsTable.setItems(sortedArtists);
+                @Override
+                public List<Artist> load(PageRequest page) {
+                    return artistService.getArtistsPage(page);
+                }
+            },
+            Artist::getId, Map.of("fullName", Artist::getFullName), PAGE_SIZE, MAX_PAGES);
+        artists.bindTo(artistsTable, Map.of(nameColumn, "fullName"));
         artistsTable.setPlaceholder(new Label("Нет данных"));
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
@@ -96,23 +103,11 @@ public class ArtistsController {
                     return;
                 }
 
-                Image image;
-
-                try {
-                    if (imageName == null || imageName.isEmpty()) {
-                        image = loadImage("/images/no_image.png");
-                    } else {
-                        image = loadImage("/images/artists/" + imageName);
-                    }
-
-                    imageView.setImage(image);
-                    setGraphic(imageView);
-
-                } catch (Exception e) {
-                    log.error("Ошибка при загрузке изображения: {}", imageName, e);
-                    imageView.setImage(loadImage("/images/no_image.png"));
-                    setGraphic(imageView);
-                }
+                String path = imageName == null || imageName.isEmpty()
+                    ? ImageService.NO_IMAGE
+                    : "/images/artists/" + imageName;
+                imageService.loadInto(imageView, path, 100, 100);
+                setGraphic(imageView);
             }
         });
 
@@ -145,16 +140,6 @@ public class ArtistsController {
         loadArtists();
     }
 
-    private Image loadImage(String path) {
-        var stream = getClass().getResourceAsStream(path);
-        if (stream == null) {
-            log.warn("Ресурс не найден: {}", path);
-            stream = getClass().getResourceAsStream("/images/no_image.png");
-        }
-        assert stream != null;
-        return new Image(stream);
-    }
-
     // рекурсивный метод для блокировки перетаскивания колонок
     private void setColumnsNoDrag(TableView<?> table) {
         table.getColumns().forEach(this::disableReorderRecursively);
@@ -172,19 +157,14 @@ public class ArtistsController {
     private void onSearch() {
         String q = searchField.getText().toLowerCase().trim();
 
-        filteredArtists.setPredicate(artist -> {
-            if (q.isEmpty()) return true;
-            return (artist.getFullName() != null && artist.getFullName().toLowerCase().contains(q))
-                || (artist.getBiography() != null && artist.getBiography().toLowerCase().contains(q))
-                || (artist.getBirthDate() != null && artist.getBirthDate().toString().contains(q))
-                || (artist.getDeathDate() != null && artist.getDeathDate().toString().contains(q));
+        // количество считается в фоне, подсказка - когда придет результат
+        artists.setSearch(q).thenAccept(count -> {
+            if (count == 0) {
+                Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
+                placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
+                artistsTable.setPlaceholder(placeholderLabel);
+            }
         });
-
-        if (filteredArtists.isEmpty()) {
-            Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
-            placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
-            artistsTable.setPlaceholder(placeholderLabel);
-        }
     }
 
     // очистка фильтра
@@ -194,14 +174,20 @@ public class ArtistsController {
         searchField.clear();
 
         // все элементы
-        filteredArtists.setPredicate(a -> true);
+        artists.setSearch("");
 
         artistsTable.setPlaceholder(new Label("Нет данных"));
     }
 
     //  обновление данных
+    // повторный показ экрана из кэша: количество и видимые страницы перечитываются
+    @Override
+    public void refresh() {
+        loadArtists();
+    }
+
     private void loadArtists() {
-        allArtists.setAll(artistService.getAllArtists());
+        artists.refresh();
     }
 
     // CRUD
@@ -229,8 +215,10 @@ public class ArtistsController {
             // ответ
             alert.showAndWait().ifPresent(response -> {
                 if (response == deleteButton) {
-                    artistService.deleteArtist(selectedArtist);
-                    loadArtists();
+                    FxAsync.run(() -> {
+                        artistService.deleteArtist(selectedArtist);
+                        return null;
+                    }, ignored -> loadArtists());
                 }
             });
         } else {
@@ -6,11 +6,14 @@ import com.gallery.entity.PaintingExhibition;
 import com.gallery.service.ExhibitionService;
 import com.gallery.service.PaintingService;
 import com.gallery.service.PaintingExhibitionService;
+import com.gallery.util.FxAsync;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -53,6 +56,14 @@ public class ExhibitionAddEditController {
     private final ObservableList<Painting> availableList = FXCollections.observableArrayList();
     private final ObservableList<Painting> selectedList = FXCollections.observableArrayList();
 
+    private final FxAsync.Latest availableRequest = new FxAsync.Latest();
+    // пересчет доступных картин после паузы в вводе дат
+    private final PauseTransition availableDelay = new PauseTransition(Duration.millis(250));
+    // каталог картин загружается один раз за открытие окна, меняется только занятость
+    private List<Painting> catalog;
+    private Set<Long> busyIds = Set.of();
+    private boolean saving;
+
     @FXML
     private void initialize() {
         availTitleCol.setCellValueFactory(p -> new javafx.beans.property.SimpleStringProperty(p.getValue().getTitle()));
@@ -75,8 +86,30 @@ public class ExhibitionAddEditController {
         availableTable.setPlaceholder(new Label("Нет доступных картин"));
         selectedTable.setPlaceholder(new Label("Нет выбранных картин"));
 
-        startDatePicker.valueProperty().addListener((obs, oldV, newV) -> loadAvailablePaintings());
-        endDatePicker.valueProperty().addListener((obs, oldV, newV) -> loadAvailablePaintings());
+        availableTable.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(Painting item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setDisable(false);
+                    setStyle("");
+                } else {
+                    boolean isBusy = busyIds.contains(item.getId());
+                    setDisable(isBusy);
+                    setStyle(isBusy ? "-fx-opacity: 0.4;" : "");
+                }
+            }
+        });
+
+        availableDelay.setOnFinished(e -> loadAvailablePaintings());
+        startDatePicker.valueProperty().addListener((obs, oldV, newV) -> scheduleAvailablePaintings());
+        endDatePicker.valueProperty().addListener((obs, oldV, newV) -> scheduleAvailablePaintings());
+    }
+
+    // отложенный пересчет: текущий запрос отменяется, новый стартует после паузы
+    private void scheduleAvailablePaintings() {
+        availableRequest.cancel();
+        availableDelay.playFromStart();
     }
 
     private void setupDatePickerMask(DatePicker datePicker) {
@@ -195,40 +228,44 @@ public class ExhibitionAddEditController {
     }
 
     private void loadAvailablePaintings() {
-        availableList.clear();
-
+        availableDelay.stop();
         LocalDate start = getDate(startDatePicker);
         LocalDate end = getDate(endDatePicker);
 
         if (start == null || end == null) {
+            availableRequest.cancel();
+            availableList.clear();
             availableTable.setPlaceholder(new Label("Сначала выберите даты"));
             return;
         }
 
-        List<Painting> allPaintings = paintingService.getAllPaintings();
-        Set<Long> busy = paintingExhibitionService.findBusyPaintingIdsBetween(start, end, currentExhibitionId);
+        // занятость (и каталог при первом вызове) загружается в фоне, устаревший запрос отменяется
+        Integer exhibitionId = currentExhibitionId;
+        List<Painting> cached = catalog;
+        availableRequest.submit(() -> new Availability(
+            cached != null ? cached : paintingService.getAllPaintings(),
+            paintingExhibitionService.findBusyPaintingIdsBetween(start, end, exhibitionId)), this::showAvailablePaintings);
+    }
 
-        for (Painting p : allPaintings) {
-            boolean alreadySelected = selectedList.stream().anyMatch(x -> Objects.equals(x.getId(), p.getId()));
-            if (!alreadySelected) {
-                availableList.add(p);
-            }
+    // все картины и занятые в выбранные даты
+    private record Availability(List<Painting> paintings, Set<Long> busy) {}
+
+    private void showAvailablePaintings(Availability availability) {
+        catalog = availability.paintings();
+        busyIds = availability.busy();
+
+        Set<Long> selectedIds = new HashSet<>();
+        for (Painting p : selectedList) {
+            selectedIds.add(p.getId());
         }
 
-        availableTable.setRowFactory(tv -> new TableRow<>() {
-            @Override
-            protected void updateItem(Painting item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setDisable(false);
-                    setStyle("");
-                } else {
-                    boolean isBusy = busy.contains(item.getId());
-                    setDisable(isBusy);
-                    setStyle(isBusy ? "-fx-opacity: 0.4;" : "");
-                }
+        List<Painting> available = new ArrayList<>(catalog.size());
+        for (Painting p : catalog) {
+            if (!selectedIds.contains(p.getId())) {
+                available.add(p);
             }
-        });
+        }
+        availableList.setAll(available);
     }
 
     @FXML
@@ -237,15 +274,16 @@ public class ExhibitionAddEditController {
         if (sel == null) return;
         LocalDate start = getDate(startDatePicker);
         LocalDate end = getDate(endDatePicker);
-        boolean busy = paintingExhibitionService.isPaintingBusy(
-            sel.getId(), start, end, currentExhibitionId
-        );
-        if (busy) {
-            showError("Картина занята в эти даты.");
-            return;
-        }
-        availableList.remove(sel);
-        selectedList.add(sel);
+        Integer exhibitionId = currentExhibitionId;
+        FxAsync.run(() -> paintingExhibitionService.isPaintingBusy(sel.getId(), start, end, exhibitionId), busy -> {
+            if (busy) {
+                showError("Картина занята в эти даты.");
+                return;
+            }
+            if (availableList.remove(sel)) {
+                selectedList.add(sel);
+            }
+        });
     }
 
     @FXML
@@ -291,26 +329,22 @@ public class ExhibitionAddEditController {
         exhibition.setEndDate(end);
         exhibition.setDescription(descriptionField.getText());
 
-        try {
-            Exhibition saved = exhibitionService.save(exhibition);
-
-            paintingExhibitionService.deleteByExhibitionId(saved.getId());
+        Set<Long> paintingIds = new LinkedHashSet<>();
+        for (Painting p : selectedList) {
+            paintingIds.add(p.getId());
+        }
 
-            for (Painting p : selectedList) {
-                PaintingExhibition pe = new PaintingExhibition();
-                pe.setPainting(p);
-                pe.setExhibition(saved);
-                pe.setStartDate(start);
-                pe.setEndDate(end);
+        if (saving) return;
+        saving = true;
 
-                paintingExhibitionService.addPaintingExhibition(pe);
-            }
-        } catch (Exception e) {
+        // сохранение в фоне, окно закрывается после успешного завершения
+        FxAsync.run(() -> {
+            exhibitionService.saveWithPaintings(exhibition, paintingIds);
+            return null;
+        }, ignored -> dialogStage.close(), e -> {
+            saving = false;
             showError("Ошибка сохранения выставки: " + e.getMessage());
-            return;
-        }
-
-        dialogStage.close();
+        });
     }
 
     private void showError(String message) {
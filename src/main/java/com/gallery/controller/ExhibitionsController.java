@@ -1,7 +1,10 @@
 package com.gallery.controller;
 
 import com.gallery.entity.Exhibition;
+import com.gallery.repository.PageRequest;
 import com.gallery.service.ExhibitionService;
+import com.gallery.util.FxAsync;
+import com.gallery.util.LazyPagedList;
 import com.gallery.util.TableCellFactoryUtil;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -14,17 +17,14 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
-import javafx.collections.transformation.SortedList;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ExhibitionsController {
+public class ExhibitionsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(ExhibitionsController.class);
 
     @FXML
@@ -46,8 +46,11 @@ public class ExhibitionsController {
 
     private final ExhibitionService exhibitionService = new ExhibitionService();
 
-    private ObservableList<Exhibition> allExhibitions;
-    private FilteredList<Exhibition> filteredExhibitions;
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    // строки таблицы подгружаются страницами из БД
+    private LazyPagedList<Exhibition> exhibitions;
 
     @FXML
     private void initialize() {
@@ -57,17 +60,21 @@ public class ExhibitionsController {
         // запрет на перемещение колонок
         setColumnsNoDrag(exhibitionsTable);
 
-        // базовый список
-        allExhibitions = FXCollections.observableArrayList(exhibitionService.getAllExhibitions());
-        filteredExhibitions = new FilteredList<>(allExhibitions, e -> true);
-
-        // TableView работает с FilteredList
-        exhibitionsTable.setItems(filteredExhibitions);
+        // постраничный список, поиск и сортировка (по названию) выполняются в БД
+        exhibitions = new LazyPagedList<>(
+            new LazyPagedList.PageSource<>() {
+                @Override
+                public long count(String search) {
+                    return exhibitionService.countExhibitions(search);
+                }
 
-        // сортировка по колонкам
-        SortedList<Exhibition> sortedExhibitions = new SortedList<>(filteredExhibitions);
-        sortedExhibitions.comparatorProperty().bind(exhibitionsTable.comparatorProperty());
-        exhibitionsTable.setItems(sortedExhibitions);
+                @Override
+                public List<Exhibition> load(PageRequest page) {
+                    return exhibitionService.getExhibitionsPage(page);
+                }
+            },
+            Exhibition::getId, Map.of("name", Exhibition::getName), PAGE_SIZE, MAX_PAGES);
+        exhibitions.bindTo(exhibitionsTable, Map.of(colName, "name"));
 
         exhibitionsTable.setPlaceholder(new javafx.scene.control.Label("Нет данных"));
 
@@ -76,7 +83,8 @@ public class ExhibitionsController {
         colLocation.setCellValueFactory(new PropertyValueFactory<>("location"));
         colPaintings.setCellValueFactory(c -> {
             Exhibition ex = c.getValue();
-            if (ex.getPaintingExhibitions() == null) {
+            // строка еще не загружена или без картин
+            if (ex == null || ex.getPaintingExhibitions() == null) {
                 return new SimpleStringProperty("");
             }
             String titles = ex.getPaintingExhibitions().stream()
@@ -91,16 +99,16 @@ public class ExhibitionsController {
 
         colStartDate.setCellValueFactory(c ->
             new SimpleStringProperty(
-                c.getValue().getStartDate() != null ? c.getValue().getStartDate().format(formatter) : ""
+                c.getValue() != null && c.getValue().getStartDate() != null ? c.getValue().getStartDate().format(formatter) : ""
             )
         );
         colEndDate.setCellValueFactory(c ->
             new SimpleStringProperty(
-                c.getValue().getEndDate() != null ? c.getValue().getEndDate().format(formatter) : ""
+                c.getValue() != null && c.getValue().getEndDate() != null ? c.getValue().getEndDate().format(formatter) : ""
             )
         );
         colDescription.setCellValueFactory(c ->
-            new SimpleStringProperty(c.getValue().getDescription() != null ? c.getValue().getDescription() : "")
+            new SimpleStringProperty(c.getValue() != null && c.getValue().getDescription() != null ? c.getValue().getDescription() : "")
         );
 
         colName.setCellFactory(TableCellFactoryUtil.wrappingCell());
@@ -129,41 +137,33 @@ public class ExhibitionsController {
     private void onSearch() {
         String q = searchField.getText().toLowerCase().trim();
 
-        filteredExhibitions.setPredicate(exhibition -> {
-            if (q.isEmpty()) return true;
-
-            boolean matchesExhibition =
-                (exhibition.getName() != null && exhibition.getName().toLowerCase().contains(q)) ||
-                    (exhibition.getLocation() != null && exhibition.getLocation().toLowerCase().contains(q)) ||
-                    (exhibition.getDescription() != null && exhibition.getDescription().toLowerCase().contains(q)) ||
-                    (exhibition.getStartDate() != null && exhibition.getStartDate().toString().contains(q)) ||
-                    (exhibition.getEndDate() != null && exhibition.getEndDate().toString().contains(q));
-
-            boolean matchesPaintings =
-                exhibition.getPaintingExhibitions() != null && exhibition.getPaintingExhibitions().stream()
-                    .anyMatch(pe -> pe.getPainting() != null && pe.getPainting().getTitle() != null && pe.getPainting().getTitle().toLowerCase().contains(q));
-
-            return matchesExhibition || matchesPaintings;
+        // количество считается в фоне, подсказка - когда придет результат
+        exhibitions.setSearch(q).thenAccept(count -> {
+            if (count == 0) {
+                Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
+                placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
+                exhibitionsTable.setPlaceholder(placeholderLabel);
+            }
         });
-
-        if (filteredExhibitions.isEmpty()) {
-            Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
-            placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
-            exhibitionsTable.setPlaceholder(placeholderLabel);
-        }
     }
 
     // очистка фильтра
     @FXML
     private void resetFilters() {
         searchField.clear();
-        filteredExhibitions.setPredicate(e -> true);
+        exhibitions.setSearch("");
         exhibitionsTable.setPlaceholder(new Label("Нет данных"));
     }
 
     // обновление данных
+    // повторный показ экрана из кэша: количество и видимые страницы перечитываются
+    @Override
+    public void refresh() {
+        loadExhibitions();
+    }
+
     private void loadExhibitions() {
-        allExhibitions.setAll(exhibitionService.getAllExhibitions());
+        exhibitions.refresh();
     }
 
     // CRUD
@@ -231,8 +231,10 @@ public class ExhibitionsController {
             // ответ
             alert.showAndWait().ifPresent(response -> {
                 if (response == deleteButton) {
-                    exhibitionService.deleteExhibition(selectedExhibition);
-                    loadExhibitions();
+                    FxAsync.run(() -> {
+                        exhibitionService.deleteExhibition(selectedExhibition);
+                        return null;
+                    }, ignored -> loadExhibitions());
                 }
             });
         } else {
@@ -1,11 +1,14 @@
 package com.gallery.controller;
 
+import com.gallery.config.HibernateUtil;
 import com.gallery.entity.User;
 import com.gallery.service.UserService;
+import com.gallery.util.FxAsync;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -24,13 +27,36 @@ public class LoginController {
     private TextField usernameField;
     @FXML
     private PasswordField passwordField;
+    @FXML
+    private HBox connectingBox;
 
     private final UserService userService = new UserService();
 
+    // защита от повторного нажатия, пока идет проверка пароля
+    private boolean loginInProgress;
+
     @FXML
     private void initialize() {
-        // создания admin и user с хэшированными паролями
-        createDefaultUsers();
+        // форма доступна сразу, пока Hibernate запускается в фоне; вход дождется подключения
+        if (!HibernateUtil.start().isDone()) {
+            setConnecting(true);
+            FxAsync.run(HibernateUtil::getSessionFactory, ignored -> setConnecting(false), e -> {
+                setConnecting(false);
+                errorLabel.setText("Ошибка подключения к базе данных");
+                errorLabel.setVisible(true);
+            });
+        }
+
+        // создания admin и user с хэшированными паролями (в фоне, BCrypt медленный)
+        FxAsync.run(() -> {
+            createDefaultUsers();
+            return null;
+        }, ignored -> { }, e -> log.error("Ошибка при создании пользователей по умолчанию", e));
+    }
+
+    private void setConnecting(boolean connecting) {
+        connectingBox.setVisible(connecting);
+        connectingBox.setManaged(connecting);
     }
 
     private void createDefaultUsers() {
@@ -71,18 +97,28 @@ public class LoginController {
             return;
         }
 
-        // проверка пользователя через сервис
-        User user = userService.authenticate(username, password);
-        if (user == null) {
-            errorLabel.setText("Неверный логин или пароль");
-            errorLabel.setVisible(true);
-            return;
-        }
+        if (loginInProgress) return;
+        loginInProgress = true;
 
-        // успешно убрать ошибку
-        errorLabel.setVisible(false);
-        // открыть основное окно
-        openMainWindow(user);
+        // проверка пользователя через сервис (BCrypt и запрос к БД - вне FX потока)
+        FxAsync.run(() -> userService.authenticate(username, password), user -> {
+            loginInProgress = false;
+            if (user == null) {
+                errorLabel.setText("Неверный логин или пароль");
+                errorLabel.setVisible(true);
+                return;
+            }
+
+            // успешно убрать ошибку
+            errorLabel.setVisible(false);
+            // открыть основное окно
+            openMainWindow(user);
+        }, e -> {
+            loginInProgress = false;
+            log.error("Ошибка при входе", e);
+            errorLabel.setText("Ошибка подключения к базе данных");
+            errorLabel.setVisible(true);
+        });
     }
 
     private void openMainWindow(User user) {
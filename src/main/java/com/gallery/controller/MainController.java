@@ -10,6 +10,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.application.Platform;
+import java.util.List;
 import java.util.Objects;
 
 import org.slf4j.Logger;
@@ -40,11 +41,23 @@ public class MainController implements MainControllerBase {
     // текущий пользователь
     private User currentUser;
 
+    // экраны, которые готовятся в фоне после входа
+    private static final List<String> PRELOAD = List.of(
+        "/views/paintings.fxml", "/views/artists.fxml", "/views/exhibitions.fxml", "/views/stats.fxml");
+
+    // экраны сессии: Передача currentUser для UsersController через интерфейс
+    private final ViewCache views = new ViewCache(controller -> {
+        if (controller instanceof UsersController usersController) {
+            usersController.setCurrentUser(currentUser);
+        }
+    });
+
     private void setCurrentUser(User user) {  // для внутреннего использования
         this.currentUser = user;
         if (userLabel != null) {
             userLabel.setText("Привет, " + user.getUsername());
         }
+        views.preload(PRELOAD);
     }
 
     @Override
@@ -104,20 +117,10 @@ public class MainController implements MainControllerBase {
         setActiveButton(btnAbout);
     }
 
-    // метод для загрузки FXML в center BorderPane с передачей текущего пользователя
+    // метод для показа экрана в center BorderPane (из кэша или с загрузкой FXML)
     private void loadCenter(String path) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(path));
-            Parent view = loader.load();
-
-            // Передача currentUser для UsersController через интерфейс
-            Object controller = loader.getController();
-            if (controller instanceof UsersController usersController) {
-                usersController.setCurrentUser(currentUser);
-            }
-
-            view.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/application.css")).toExternalForm());
-            rootPane.setCenter(view);
+            views.show(path, rootPane::setCenter);
         } catch (Exception e) {
             log.error("Ошибка загрузки центра окна: {}", path, e);
         }
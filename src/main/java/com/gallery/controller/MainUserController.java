@@ -11,6 +11,7 @@ import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 
+import java.util.List;
 import java.util.Objects;
 
 import org.slf4j.Logger;
@@ -38,11 +39,28 @@ public class MainUserController implements MainControllerBase {
     // текущий пользователь
     private User currentUser;
 
+    // экраны, которые готовятся в фоне после входа
+    private static final List<String> PRELOAD = List.of(
+        "/views/user_paintings.fxml", "/views/user_artists.fxml", "/views/user_exhibitions.fxml");
+
+    // экраны сессии, контроллеру передается текущий пользователь
+    private final ViewCache views = new ViewCache(controller -> {
+        if (controller != null) {
+            try {
+                controller.getClass().getMethod("setUser", User.class).invoke(controller, currentUser);
+            } catch (NoSuchMethodException ignored) {
+            } catch (ReflectiveOperationException e) {
+                log.error("Ошибка передачи пользователя экрану", e);
+            }
+        }
+    });
+
     private void setCurrentUser(User user) {  // для внутреннего использования
         this.currentUser = user;
         if (userLabel != null) {
             userLabel.setText("Привет, " + user.getUsername());
         }
+        views.preload(PRELOAD);
     }
 
     @Override
@@ -87,22 +105,10 @@ public class MainUserController implements MainControllerBase {
         setActiveButton(btnUserAbout);
     }
 
-    // метод для загрузки новых экранов
+    // метод для показа экранов (из кэша или с загрузкой FXML)
     private void loadCenter(String path) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(path));
-            Parent view = loader.load();
-
-            // передача текущего пользователя контроллеру
-            Object controller = loader.getController();
-            if (controller != null) {
-                try {
-                    controller.getClass().getMethod("setUser", User.class).invoke(controller, currentUser);
-                } catch (NoSuchMethodException ignored) {}
-            }
-
-            view.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/application.css")).toExternalForm());
-            rootPane.setCenter(view);
+            views.show(path, rootPane::setCenter);
         } catch (Exception e) {
             log.error("Ошибка загрузки экрана: {}", path, e);
         }
@@ -3,13 +3,16 @@ package com.gallery.controller;
 import com.gallery.entity.Artist;
 import com.gallery.entity.Painting;
 import com.gallery.service.ArtistService;
+import com.gallery.service.ImageService;
 import com.gallery.service.PaintingService;
+import com.gallery.service.ThumbnailService;
+import com.gallery.service.TileService;
+import com.gallery.util.FxAsync;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
@@ -47,6 +50,9 @@ public class PaintingAddEditController {
 
     private final PaintingService paintingService = new PaintingService();
     private final ArtistService artistService = new ArtistService();
+    private final ImageService imageService = ImageService.getInstance();
+    private final ThumbnailService thumbnailService = ThumbnailService.getInstance();
+    private final TileService tileService = TileService.getInstance();
 
     private String selectedImageName = null;
 
@@ -79,8 +85,9 @@ public class PaintingAddEditController {
     }
 
     private void setupArtistComboBox() {
-        List<Artist> artists = artistService.getAllArtists();
-        ObservableList<Artist> artistList = FXCollections.observableArrayList(artists);
+        // список авторов заполняется после загрузки в фоне
+        ObservableList<Artist> artistList = FXCollections.observableArrayList();
+        FxAsync.run(artistService::getAllArtists, artistList::setAll);
         FilteredList<Artist> filteredArtists = new FilteredList<>(artistList, p -> true);
 
         artistComboBox.setItems(filteredArtists);
@@ -136,15 +143,8 @@ public class PaintingAddEditController {
             return;
         }
 
-        try {
-            Image img = new Image(Files.newInputStream(imagePath));
-            previewImage.setImage(img);
-            imageNameLabel.setText(imageName);
-        } catch (IOException e) {
-            log.error("Ошибка при загрузке изображения: {}", imageName, e);
-            previewImage.setImage(null);
-            imageNameLabel.setText("");
-        }
+        imageService.loadFileInto(previewImage, imagePath, 80, 80);
+        imageNameLabel.setText(imageName);
     }
 
     @FXML
@@ -160,9 +160,10 @@ public class PaintingAddEditController {
 
         try {
             Path targetDir = Paths.get("src/main/resources/images/paintings/");
-            Files.createDirectories(targetDir);
-            Path targetPath = targetDir.resolve(file.getName());
-            Files.copy(file.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+            // копия оригинала и уменьшенные копии для списков
+            Path imported = thumbnailService.importImage(file.toPath(), targetDir, "/images/paintings/" + file.getName());
+            // пирамида тайлов для полноэкранного просмотра строится заранее
+            tileService.pyramidForFile(imported);
             selectedImageName = file.getName();
             showPreviewImage(selectedImageName);
         } catch (IOException e) {
@@ -234,15 +235,12 @@ public class PaintingAddEditController {
         painting.setDescription(description);
         painting.setImage(selectedImageName);
 
-        // сохранение
-        try {
-            paintingService.savePainting(painting);
-        } catch (Exception ex) {
-            showError("Ошибка при сохранении картины: " + ex.getMessage());
-            return;
-        }
-
-        dialogStage.close();
+        // сохранение в фоне, окно закрывается после успешного завершения
+        Painting toSave = painting;
+        FxAsync.run(() -> {
+            paintingService.savePainting(toSave);
+            return null;
+        }, ignored -> dialogStage.close(), ex -> showError("Ошибка при сохранении картины: " + ex.getMessage()));
     }
 
     @FXML
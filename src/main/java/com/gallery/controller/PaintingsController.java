@@ -1,7 +1,11 @@
 package com.gallery.controller;
 
 import com.gallery.entity.Painting;
+import com.gallery.repository.PageRequest;
 import com.gallery.service.PaintingService;
+import com.gallery.service.ImageService;
+import com.gallery.util.FxAsync;
+import com.gallery.util.LazyPagedList;
 import com.gallery.util.TableCellFactoryUtil;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
@@ -12,20 +16,17 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
-import javafx.collections.transformation.SortedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class PaintingsController {
+public class PaintingsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(PaintingsController.class);
 
     @FXML
@@ -46,9 +47,13 @@ public class PaintingsController {
     private TextField searchField;
 
     private final PaintingService paintingService = new PaintingService();
+    private final ImageService imageService = ImageService.getInstance();
 
-    private ObservableList<Painting> allPaintings;
-    private FilteredList<Painting> filteredPaintings;
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    // строки таблицы подгружаются страницами из БД
+    private LazyPagedList<Painting> paintings;
 
     @FXML
     private void initialize() {
@@ -58,19 +63,21 @@ public class PaintingsController {
         // колонки нельзя передвигать
         paintingsTable.getColumns().forEach(col -> col.setReorderable(false));
 
-        // базовый список
-        allPaintings = FXCollections.observableArrayList(paintingService.getAllPaintings());
-
-        // фильтр
-        filteredPaintings = new FilteredList<>(allPaintings, p -> true);
-
-        // TableView работает с FilteredList
-        paintingsTable.setItems(filteredPaintings);
+        // постраничный список, поиск и сортировка (по названию) выполняются в БД
+        paintings = new LazyPagedList<>(
+            new LazyPagedList.PageSource<>() {
+                @Override
+                public long count(String search) {
+                    return paintingService.countPaintings(search);
+                }
 
-        // Сортировка через SortedList
-        SortedList<Painting> sortedPaintings = new SortedList<>(filteredPaintings);
-        sortedPaintings.comparatorProperty().bind(paintingsTable.comparatorProperty());
-        paintingsTable.setItems(sortedPaintings);
+                @Override
+                public List<Painting> load(PageRequest page) {
+                    return paintingService.getPaintingsPage(page);
+                }
+            },
+            Painting::getId, Map.of("title", Painting::getTitle), PAGE_SIZE, MAX_PAGES);
+        paintings.bindTo(paintingsTable, Map.of(titleColumn, "title"));
 
         paintingsTable.setPlaceholder(new javafx.scene.control.Label("Нет данных"));
 
@@ -99,28 +106,18 @@ public class PaintingsController {
                     return;
                 }
 
-                Image image;
-
-                try {
-                    if (imageName == null || imageName.isEmpty()) {
-                        image = loadImage("/images/no_image.png");
-                    } else {
-                        image = loadImage("/images/paintings/" + imageName);
-                    }
-                    imageView.setImage(image);
-                    setGraphic(imageView);
-
-                } catch (Exception e) {
-                    log.error("Ошибка при загрузке изображения: {}", imageName, e);
-                    imageView.setImage(loadImage("/images/no_image.png"));
-                    setGraphic(imageView);
-                }
+                String path = imageName == null || imageName.isEmpty()
+                    ? ImageService.NO_IMAGE
+                    : "/images/paintings/" + imageName;
+                imageService.loadInto(imageView, path, 100, 100);
+                setGraphic(imageView);
             }
         });
 
         // автор SimpleStringProperty, чтобы отображалось имя
         artistColumn.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().getArtist() != null ? cellData.getValue().getArtist().getFullName() : "")
+            new SimpleStringProperty(cellData.getValue() != null && cellData.getValue().getArtist() != null
+                ? cellData.getValue().getArtist().getFullName() : "")
         );
 
         titleColumn.setCellFactory(TableCellFactoryUtil.wrappingCell());
@@ -132,49 +129,38 @@ public class PaintingsController {
         loadPaintings();
     }
 
-    private Image loadImage(String path) {
-        var stream = getClass().getResourceAsStream(path);
-        if (stream == null) {
-            log.warn("Ресурс не найден: {}", path);
-            stream = getClass().getResourceAsStream("/images/no_image.png");
-        }
-        assert stream != null;
-        return new Image(stream);
-    }
-
     // поиск
     @FXML
     private void onSearch() {
         String q = searchField.getText().toLowerCase().trim();
 
-        filteredPaintings.setPredicate(p -> {
-            if (q.isEmpty()) return true;
-            return p.getTitle().toLowerCase().contains(q)
-                || p.getGenre().toLowerCase().contains(q)
-                || (p.getArtist() != null &&
-                p.getArtist().getFullName().toLowerCase().contains(q))
-                || String.valueOf(p.getYear()).contains(q)
-                || p.getDescription().toLowerCase().contains(q);
+        // количество считается в фоне, подсказка - когда придет результат
+        paintings.setSearch(q).thenAccept(count -> {
+            if (count == 0) {
+                Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
+                placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
+                paintingsTable.setPlaceholder(placeholderLabel);
+            }
         });
-
-        if (filteredPaintings.isEmpty()) {
-            Label placeholderLabel = new Label("По запросу \"" + q + "\" ничего не найдено");
-            placeholderLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
-            paintingsTable.setPlaceholder(placeholderLabel);
-        }
     }
 
     // очистка фильтра
     @FXML
     private void resetFilters() {
         searchField.clear();
-        filteredPaintings.setPredicate(p -> true);
+        paintings.setSearch("");
         paintingsTable.setPlaceholder(new Label("Нет данных"));
     }
 
     // обновление данных
+    // повторный показ экрана из кэша: количество и видимые страницы перечитываются
+    @Override
+    public void refresh() {
+        loadPaintings();
+    }
+
     private void loadPaintings() {
-        allPaintings.setAll(paintingService.getAllPaintings());
+        paintings.refresh();
     }
 
     // CRUD
@@ -200,8 +186,10 @@ public class PaintingsController {
             // ответ
             alert.showAndWait().ifPresent(response -> {
                 if (response == deleteButton) {
-                    paintingService.deletePainting(selectedPainting);
-                    loadPaintings();
+                    FxAsync.run(() -> {
+                        paintingService.deletePainting(selectedPainting);
+                        return null;
+                    }, ignored -> loadPaintings());
                 }
             });
         } else {
@@ -0,0 +1,7 @@
+package com.gallery.controller;
+
+// экран, который остается в кэше главного окна: при повторном показе
+// перечитывает данные, если они менялись, не пересоздавая разметку
+interface RefreshableView {
+    void refresh();
+}
@@ -2,6 +2,7 @@ package com.gallery.controller;
 
 import com.gallery.entity.User;
 import com.gallery.service.UserService;
+import com.gallery.util.FxAsync;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -27,6 +28,11 @@ public class RegisterController {
 
     private final UserService userService = new UserService();
 
+    // результат регистрации: пользователь или текст ошибки
+    private record RegisterResult(User user, String error) {}
+
+    private boolean registerInProgress;
+
     @FXML
     private void handleRegister() {
         String username = usernameField.getText().trim();
@@ -43,25 +49,39 @@ public class RegisterController {
             return;
         }
 
-        if (userService.findByUsername(username) != null) {
-            showError("Пользователь уже существует");
-            return;
-        }
+        if (registerInProgress) return;
+        registerInProgress = true;
 
-        // создание нового пользователя
-        User newUser = new User();
-        newUser.setUsername(username);
-        newUser.setPassword(pass1);
-        newUser.setRole("user");   // автоматически роль
-        userService.save(newUser);
-
-        // аутентификация сразу после регистрации
-        User authenticatedUser = userService.authenticate(username, pass1);
-        if (authenticatedUser != null) {
-            openMainWindow(authenticatedUser);
-        } else {
-            showError("Ошибка авторизации после регистрации");
-        }
+        // проверка, создание и аутентификация - вне FX потока
+        FxAsync.run(() -> {
+            if (userService.findByUsername(username) != null) {
+                return new RegisterResult(null, "Пользователь уже существует");
+            }
+
+            // создание нового пользователя
+            User newUser = new User();
+            newUser.setUsername(username);
+            newUser.setPassword(pass1);
+            newUser.setRole("user");   // автоматически роль
+            userService.save(newUser);
+
+            // аутентификация сразу после регистрации
+            User authenticatedUser = userService.authenticate(username, pass1);
+            return authenticatedUser != null
+                ? new RegisterResult(authenticatedUser, null)
+                : new RegisterResult(null, "Ошибка авторизации после регистрации");
+        }, result -> {
+            registerInProgress = false;
+            if (result.user() != null) {
+                openMainWindow(result.user());
+            } else {
+                showError(result.error());
+            }
+        }, e -> {
+            registerInProgress = false;
+            log.error("Ошибка при регистрации", e);
+            showError("Ошибка подключения к базе данных");
+        });
     }
 
     private void showError(String text) {
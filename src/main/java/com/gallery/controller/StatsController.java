@@ -1,25 +1,19 @@
 package com.gallery.controller;
 
-import com.gallery.entity.Artist;
-import com.gallery.entity.Exhibition;
-import com.gallery.entity.Painting;
-import com.gallery.service.ArtistService;
-import com.gallery.service.ExhibitionService;
-import com.gallery.service.PaintingService;
-import com.gallery.service.UserService;
+import com.gallery.dto.CountByKey;
+import com.gallery.dto.StatsSummary;
+import com.gallery.service.StatsService;
+import com.gallery.util.FxAsync;
 import javafx.fxml.FXML;
 import javafx.scene.chart.*;
 import javafx.scene.control.Label;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
-import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
-public class StatsController {
+public class StatsController implements RefreshableView {
 
     @FXML
     private Label totalPaintingsLabel, totalArtistsLabel, totalExhibitionsLabel, totalUsersLabel;
@@ -32,68 +26,67 @@ public class StatsController {
     @FXML
     private PieChart pieChartByGenre;
 
-    private final PaintingService paintingService = new PaintingService();
-    private final ArtistService artistService = new ArtistService();
-    private final ExhibitionService exhibitionService = new ExhibitionService();
-    private final UserService userService = new UserService();
+    private final StatsService statsService = new StatsService();
 
     @FXML
     private void initialize() {
         lineChartByYear.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/application.css")).toExternalForm());
         barChartByArtist.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/application.css")).toExternalForm());
-        List<Painting> paintings = paintingService.getAllPaintings();
-        List<Artist> artists = artistService.getAllArtists();
-        List<Exhibition> exhibitions = exhibitionService.getAllExhibitions();
+
+        loadStats();
+    }
+
+    // повторный показ экрана из кэша
+    @Override
+    public void refresh() {
+        loadStats();
+    }
+
+    // агрегаты считаются в БД в фоне, графики заполняются в FX потоке
+    private void loadStats() {
+        FxAsync.run(() -> new StatsData(
+            statsService.getSummary(),
+            statsService.getPaintingsByYear(),
+            statsService.getPaintingsByArtist(),
+            statsService.getPaintingsByGenre()), this::showStats);
+    }
+
+    private record StatsData(StatsSummary summary, List<CountByKey> byYear,
+                             List<CountByKey> byArtist, List<CountByKey> byGenre) {}
+
+    private void showStats(StatsData stats) {
+        StatsSummary summary = stats.summary();
 
         // показатели
-        totalPaintingsLabel.setText("Всего картин: " + paintings.size());
-        totalArtistsLabel.setText("Всего авторов: " + artists.size());
-        totalExhibitionsLabel.setText("Всего выставок: " + exhibitions.size());
-        totalUsersLabel.setText("Всего пользователей: " + userService.getAllUsers().size());
+        totalPaintingsLabel.setText("Всего картин: " + summary.paintings());
+        totalArtistsLabel.setText("Всего авторов: " + summary.artists());
+        totalExhibitionsLabel.setText("Всего выставок: " + summary.exhibitions());
+        totalUsersLabel.setText("Всего пользователей: " + summary.users());
 
         // средний возраст картины
-        double averageAge = paintings.stream()
-            .filter(p -> p.getYear() != null)
-            .mapToInt(p -> 2025 - p.getYear())
-            .average()
-            .orElse(0);
+        double averageAge = summary.averagePaintingAge() != null ? summary.averagePaintingAge() : 0;
         averageAgeLabel.setText(String.format("Средний возраст картины: %.1f лет", averageAge));
 
         // средняя длительность выставки
-        double averageDuration = exhibitions.stream()
-            .filter(e -> e.getStartDate() != null && e.getEndDate() != null)
-            .mapToLong(e -> ChronoUnit.DAYS.between(e.getStartDate(), e.getEndDate()))
-            .average()
-            .orElse(0);
+        double averageDuration = summary.averageExhibitionDays() != null ? summary.averageExhibitionDays() : 0;
         averageExhibitionDurationLabel.setText(String.format("Средняя длительность выставки: %.1f дней", averageDuration));
 
         // LineChart количество картин по годам
-        Map<Integer, Long> paintingsByYear = paintings.stream()
-            .filter(p -> p.getYear() != null)
-            .collect(Collectors.groupingBy(Painting::getYear, Collectors.counting()));
         XYChart.Series<String, Number> seriesYear = new XYChart.Series<>();
-        paintingsByYear.entrySet().stream()
-            .sorted(Map.Entry.comparingByKey())
-            .forEach(entry -> seriesYear.getData().add(new XYChart.Data<>(String.valueOf(entry.getKey()), entry.getValue())));
-        lineChartByYear.getData().add(seriesYear);
+        stats.byYear().forEach(row -> seriesYear.getData().add(new XYChart.Data<>(row.key(), row.count())));
+        lineChartByYear.getData().setAll(List.of(seriesYear));
         lineChartByYear.setLegendVisible(false);
 
         // BarChart количество картин по авторам
-        Map<String, Long> paintingsByArtist = paintings.stream()
-            .filter(p -> p.getArtist() != null)
-            .collect(Collectors.groupingBy(p -> p.getArtist().getFullName(), Collectors.counting()));
         XYChart.Series<String, Number> seriesArtist = new XYChart.Series<>();
-        paintingsByArtist.forEach((artist, count) -> seriesArtist.getData().add(new XYChart.Data<>(artist, count)));
-        barChartByArtist.getData().add(seriesArtist);
+        stats.byArtist().forEach(row -> seriesArtist.getData().add(new XYChart.Data<>(row.key(), row.count())));
+        barChartByArtist.getData().setAll(List.of(seriesArtist));
         barChartByArtist.setLegendVisible(false);
 
         // PieChart распределение по жанрам
-        Map<String, Long> paintingsByGenre = paintings.stream()
-            .filter(p -> p.getGenre() != null)
-            .collect(Collectors.groupingBy(Painting::getGenre, Collectors.counting()));
         pieChartByGenre.getData().clear();
-        paintingsByGenre.forEach((genre, count) -> {
-            PieChart.Data data = new PieChart.Data(genre + " (" + count + ")", count);
+        stats.byGenre().forEach(row -> {
+            PieChart.Data data = new PieChart.Data(row.key() + " (" + row.count() + ")", row.count());
             pieChartByGenre.getData().add(data);
         });
 
@@ -1,50 +1,67 @@
 package com.gallery.controller;
 
-import com.gallery.entity.Artist;
+import com.gallery.dto.ArtistCard;
 import com.gallery.service.ArtistService;
+import com.gallery.service.ImageService;
+import com.gallery.service.SearchService;
+import com.gallery.util.CardTemplates;
+import com.gallery.util.FxAsync;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
-import java.io.InputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class UserArtistsController {
+public class UserArtistsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(UserArtistsController.class);
 
     @FXML
     private GridPane artistsGrid;
     @FXML
-    private ComboBox<Artist> artistComboBox;
+    private ComboBox<ArtistCard> artistComboBox;
     @FXML
     private ScrollPane scroll;
     @FXML
     private javafx.scene.control.TextField searchField;
 
     private final ArtistService artistService = new ArtistService();
+    private final ImageService imageService = ImageService.getInstance();
+    private final SearchService searchService = SearchService.getInstance();
     private final List<Node> allCards = new ArrayList<>();
-    private final List<Artist> allArtists = new ArrayList<>();
+    private final List<ArtistCard> allArtists = new ArrayList<>();
     private final List<Node> displayedCards = new ArrayList<>();
+    // индекс карточки автора в allCards
+    private final Map<Integer, Integer> positions = new HashMap<>();
+
+    // карточки, у которых биография еще не загружена
+    private final Map<Node, Integer> pendingBiographyIds = new LinkedHashMap<>();
+    private final Map<Integer, Label> biographyLabels = new LinkedHashMap<>();
 
     @FXML
     private void initialize() {
         scroll.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> layoutCards(displayedCards));
+        scroll.vvalueProperty().addListener((obs, oldVal, newVal) -> loadVisibleBiographies());
         scroll.setFitToWidth(true);
 
         loadArtists();
@@ -60,10 +77,11 @@ public class UserArtistsController {
 
         // динамическое обновление ComboBox при открытии
         artistComboBox.setOnShowing(e -> {
-            Artist currentArtist = artistComboBox.getSelectionModel().getSelectedItem();
+            ArtistCard currentArtist = artistComboBox.getSelectionModel().getSelectedItem();
 
-            List<Artist> availableArtists = allArtists.stream()
-                    .filter(a -> searchField.getText().isEmpty() || a.getFullName().toLowerCase().contains(searchField.getText().toLowerCase()))
+            Map<Integer, Double> found = searchService.searchArtists(searchField.getText());
+            List<ArtistCard> availableArtists = allArtists.stream()
+                    .filter(a -> found == null || found.containsKey(a.id()))
                     .collect(Collectors.toList());
 
             artistComboBox.getItems().setAll(availableArtists);
@@ -76,53 +94,60 @@ public class UserArtistsController {
         });
     }
 
+    // повторный показ экрана из кэша
+    @Override
+    public void refresh() {
+        loadArtists();
+    }
+
     private void loadArtists() {
         artistsGrid.getChildren().clear();
         allCards.clear();
         allArtists.clear();
+        positions.clear();
+        pendingBiographyIds.clear();
+        biographyLabels.clear();
+
+        // список авторов и поисковый индекс загружаются в фоне
+        FxAsync.run(() -> {
+            List<ArtistCard> artists = artistService.getAllArtistCards();
+            searchService.prepareArtists();
+            return artists;
+        }, this::showArtists);
+    }
 
-        List<Artist> artists = artistService.getAllArtists();
+    private void showArtists(List<ArtistCard> artists) {
         allArtists.addAll(artists);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
-        for (Artist artist : artists) {
+        for (ArtistCard artist : artists) {
             try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/user_artists_row.fxml"));
-                VBox row = loader.load();
-
-                Label fullNameLabel = (Label) row.lookup("#fullNameLabel");
-                ImageView photoImageView = (ImageView) row.lookup("#photoImageView");
-                Label datesLabel = (Label) row.lookup("#datesLabel");
-                ScrollPane biographyScroll = (ScrollPane) row.lookup("#biographyScroll");
-                Label biographyLabel = (Label) biographyScroll.getContent();
-
-                fullNameLabel.setText(artist.getFullName());
-
-                InputStream imageStream = getClass().getResourceAsStream("/images/artists/" + artist.getImage());
-                Image image;
-                if (imageStream != null) {
-                    image = new Image(imageStream);
-                } else {
-                    InputStream defaultStream = getClass().getResourceAsStream("/images/no_image.png");
-                    if (defaultStream != null) {
-                        image = new Image(defaultStream);
-                    } else {
-                        image = null;
-                        log.warn("Файл изображения артиста и default не найдены: {}", artist.getFullName());
-                    }
-                }
-                photoImageView.setImage(image);
-
-                String birth = artist.getBirthDate() != null ? artist.getBirthDate().format(formatter) : "";
-                String death = artist.getDeathDate() != null ? artist.getDeathDate().format(formatter) : "Жив";
+                CardTemplates.ArtistRow card = new CardTemplates.ArtistRow();
+                VBox row = card.root;
+
+                Label fullNameLabel = card.fullNameLabel;
+                ImageView photoImageView = card.photoImageView;
+                Label datesLabel = card.datesLabel;
+                Label biographyLabel = card.biographyLabel;
+
+                fullNameLabel.setText(artist.fullName());
+
+                imageService.loadInto(photoImageView, "/images/artists/" + artist.image(), 250, 250);
+
+                String birth = artist.birthDate() != null ? artist.birthDate().format(formatter) : "";
+                String death = artist.deathDate() != null ? artist.deathDate().format(formatter) : "Жив";
                 datesLabel.setText(birth + " - " + death);
 
-                biographyLabel.setText(artist.getBiography() != null ? artist.getBiography() : "");
+                // биография догружается, когда карточка попадет в видимую область
+                biographyLabel.setText("");
+                pendingBiographyIds.put(row, artist.id());
+                biographyLabels.put(artist.id(), biographyLabel);
 
+                positions.put(artist.id(), allCards.size());
                 allCards.add(row);
             } catch (Exception e) {
-                log.error("Ошибка при загрузке карточки артиста: {}", artist.getFullName(), e);
+                log.error("Ошибка при загрузке карточки артиста: {}", artist.fullName(), e);
             }
         }
 
@@ -134,9 +159,9 @@ public class UserArtistsController {
         artistComboBox.getItems().setAll(allArtists);
         artistComboBox.setButtonCell(new javafx.scene.control.ListCell<>() {
             @Override
-            protected void updateItem(Artist item, boolean empty) {
+            protected void updateItem(ArtistCard item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty || item == null ? "Выберите автора" : item.getFullName());
+                setText(empty || item == null ? "Выберите автора" : item.fullName());
             }
         });
     }
@@ -161,26 +186,59 @@ public class UserArtistsController {
             int row = i / columns;
             artistsGrid.add(card, col, row);
         }
+
+        // после раскладки карточки получат координаты
+        Platform.runLater(this::loadVisibleBiographies);
+    }
+
+    // загрузка биографий для карточек в видимой области одним запросом
+    private void loadVisibleBiographies() {
+        if (pendingBiographyIds.isEmpty()) return;
+
+        Bounds viewport = scroll.localToScene(scroll.getBoundsInLocal());
+        List<Integer> ids = new ArrayList<>();
+        pendingBiographyIds.forEach((card, id) -> {
+            if (card.getParent() != null && card.localToScene(card.getBoundsInLocal()).intersects(viewport)) {
+                ids.add(id);
+            }
+        });
+        if (ids.isEmpty()) return;
+
+        pendingBiographyIds.values().removeAll(ids);
+        FxAsync.run(() -> artistService.getBiographies(ids), biographies -> {
+            for (Integer id : ids) {
+                String biography = biographies.get(id);
+                Label label = biographyLabels.remove(id);
+                if (label != null) label.setText(biography != null ? biography : "");
+            }
+        });
     }
 
     private void updateFilteredArtists() {
         String query = searchField.getText().toLowerCase().trim();
-        Artist selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
+        ArtistCard selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
 
         displayedCards.clear();
 
-        for (int i = 0; i < allCards.size(); i++) {
-            VBox card = (VBox) allCards.get(i);
-            Label fullNameLabel = (Label) card.lookup("#fullNameLabel");
-            Artist artist = allArtists.get(i);
-
-            boolean matchesQuery = fullNameLabel.getText().toLowerCase().contains(query);
-            boolean matchesArtist = selectedArtist == null || selectedArtist.getId().equals(artist.getId());
-
-            if (matchesQuery && matchesArtist) {
-                displayedCards.add(card);
+        // найденные по индексу (null - без поиска) в порядке списка,
+        // похожие по написанию (опечатки) - после точных
+        Map<Integer, Double> found = searchService.searchArtists(query);
+        Collection<Integer> ids = found != null ? found.keySet() : positions.keySet();
+        List<Integer> matched = new ArrayList<>();
+        for (Integer id : ids) {
+            if (positions.containsKey(id) && (selectedArtist == null || selectedArtist.id().equals(id))) {
+                matched.add(id);
             }
         }
+        Comparator<Integer> order = Comparator.comparing(positions::get);
+        if (found != null) {
+            order = Comparator.comparing((Integer id) -> -found.get(id)).thenComparing(order);
+        }
+        matched.sort(order);
+
+        for (Integer id : matched) {
+            displayedCards.add(allCards.get(positions.get(id)));
+        }
 
         if (displayedCards.isEmpty()) {
             showEmptyMessage(query);
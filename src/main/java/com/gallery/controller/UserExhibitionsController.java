@@ -1,9 +1,14 @@
 package com.gallery.controller;
 
 import com.gallery.entity.Exhibition;
+import com.gallery.entity.Painting;
+import com.gallery.entity.PaintingExhibition;
 import com.gallery.service.ExhibitionService;
+import com.gallery.service.SearchService;
+import com.gallery.util.CardTemplates;
+import com.gallery.util.FacetIndex;
+import com.gallery.util.FxAsync;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
@@ -13,13 +18,18 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class UserExhibitionsController {
+public class UserExhibitionsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(UserExhibitionsController.class);
 
     @FXML
@@ -36,12 +46,14 @@ public class UserExhibitionsController {
     private TextField searchField;
 
     private final ExhibitionService exhibitionService = new ExhibitionService();
+    private final SearchService searchService = SearchService.getInstance();
 
     private List<Exhibition> allExhibitions = new ArrayList<>();
-    private List<String> allTitles = new ArrayList<>();
-    private List<String> allGenres = new ArrayList<>();
-    private List<String> allArtists = new ArrayList<>();
-    private List<String> allPaintings = new ArrayList<>();
+
+    // фасеты фильтров и позиция выставки в списке
+    private enum Facet { TITLE, GENRE, ARTIST, PAINTING }
+    private FacetIndex<Facet> facets = new FacetIndex<>(0);
+    private final Map<Integer, Integer> positions = new HashMap<>();
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
@@ -57,13 +69,7 @@ public class UserExhibitionsController {
         scroll.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
         scroll.setFitToWidth(true);
 
-        allExhibitions = exhibitionService.getAllExhibitions();
-
-        // загрузка уникальных значений для всех фильтров
-        loadAllFilterValues(allExhibitions);
-
-        // все выставки
-        displayExhibitions(allExhibitions);
+        loadExhibitions();
 
         // установка подсказок
         titleComboBox.setButtonCell(new javafx.scene.control.ListCell<>() {
@@ -105,154 +111,125 @@ public class UserExhibitionsController {
         artistComboBox.setOnAction(e -> updateFilteredExhibitions());
         paintingComboBox.setOnAction(e -> updateFilteredExhibitions());
 
-        // динамическое обновление ComboBox при открытии
-        titleComboBox.setOnShowing(e -> {
-            String currentTitle = titleComboBox.getSelectionModel().getSelectedItem();
+        // динамическое обновление ComboBox при открытии: значения с выставками при остальных фильтрах
+        setupFacet(titleComboBox, Facet.TITLE);
+        setupFacet(genreComboBox, Facet.GENRE);
+        setupFacet(artistComboBox, Facet.ARTIST);
+        setupFacet(paintingComboBox, Facet.PAINTING);
+    }
+
+    // повторный показ экрана из кэша
+    @Override
+    public void refresh() {
+        loadExhibitions();
+    }
 
-            List<String> availableTitles = allTitles.stream()
-                .filter(t -> genreComboBox.getSelectionModel().getSelectedItem() == null || allExhibitions.stream()
-                    .anyMatch(ex -> ex.getName().equals(t) && ex.getPaintingExhibitions().stream()
-                        .anyMatch(pe -> pe.getPainting().getGenre()
-                            .equals(genreComboBox.getSelectionModel().getSelectedItem()))
-                    )
-                )
-                .collect(Collectors.toList());
+    // выставки и поисковый индекс загружаются в фоне
+    private void loadExhibitions() {
+        FxAsync.run(() -> {
+            List<Exhibition> exhibitions = exhibitionService.getAllExhibitions();
+            searchService.prepareExhibitions();
+            return exhibitions;
+        }, exhibitions -> {
+            allExhibitions = exhibitions;
 
-            titleComboBox.getItems().setAll(availableTitles);
+            // фасеты для всех фильтров
+            buildFacets(allExhibitions);
 
-            if (currentTitle != null && availableTitles.contains(currentTitle)) {
-                titleComboBox.getSelectionModel().select(currentTitle);
-            } else {
-                titleComboBox.getSelectionModel().clearSelection();
+            // выставки с учетом уже выбранных фильтров и поиска
+            updateFilteredExhibitions();
+        });
+    }
+
+    // список значений фасета с числом выставок, пересчитывается при открытии
+    private void setupFacet(ComboBox<String> comboBox, Facet facet) {
+        Map<String, Integer> counts = new HashMap<>();
+
+        comboBox.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item + " (" + counts.getOrDefault(item, 0) + ")");
             }
         });
 
-        genreComboBox.setOnShowing(e -> {
-            String currentGenre = genreComboBox.getSelectionModel().getSelectedItem();
-            String selectedTitle = titleComboBox.getSelectionModel().getSelectedItem();
+        comboBox.setOnShowing(e -> {
+            String current = comboBox.getSelectionModel().getSelectedItem();
 
-            List<String> availableGenres = allGenres.stream()
-                .filter(g -> selectedTitle == null || allExhibitions.stream()
-                    .anyMatch(ex -> ex.getName().equals(selectedTitle) && ex.getPaintingExhibitions().stream()
-                        .anyMatch(pe -> pe.getPainting().getGenre().equals(g))
-                    )
-                )
-                .collect(Collectors.toList());
+            // значения в порядке первого появления в списке выставок
+            Map<String, Integer> matched = facets.counts(facet, matching(facet, search()));
+            counts.clear();
+            counts.putAll(matched);
+            List<String> available = new ArrayList<>(matched.keySet());
 
-            genreComboBox.getItems().setAll(availableGenres);
+            comboBox.getItems().setAll(available);
 
-            if (currentGenre != null && availableGenres.contains(currentGenre)) {
-                genreComboBox.getSelectionModel().select(currentGenre);
+            if (current != null && available.contains(current)) {
+                comboBox.getSelectionModel().select(current);
             } else {
-                genreComboBox.getSelectionModel().clearSelection();
+                comboBox.getSelectionModel().clearSelection();
             }
         });
+    }
 
-        artistComboBox.setOnShowing(e -> {
-            String currentArtist = artistComboBox.getSelectionModel().getSelectedItem();
-            String selectedTitle = titleComboBox.getSelectionModel().getSelectedItem();
-            String selectedGenre = genreComboBox.getSelectionModel().getSelectedItem();
-
-            List<String> availableArtists = allArtists.stream()
-                .filter(a -> (selectedTitle == null || allExhibitions.stream()
-                    .anyMatch(ex -> ex.getName().equals(selectedTitle)
-                        && ex.getPaintingExhibitions().stream()
-                        .anyMatch(pe -> pe.getPainting().getArtist().getFullName().equals(a))
-                    ))
-                    && (selectedGenre == null || allExhibitions.stream()
-                    .anyMatch(ex -> ex.getPaintingExhibitions().stream()
-                        .anyMatch(pe -> pe.getPainting().getGenre().equals(selectedGenre)
-                            && pe.getPainting().getArtist().getFullName().equals(a))
-                    ))
-                )
-                .collect(Collectors.toList());
-
-            artistComboBox.getItems().setAll(availableArtists);
-
-            if (currentArtist != null && availableArtists.contains(currentArtist)) {
-                artistComboBox.getSelectionModel().select(currentArtist);
-            } else {
-                artistComboBox.getSelectionModel().clearSelection();
+    // фасеты выставок: позиции по названию и по жанрам, авторам и названиям картин на выставке
+    private void buildFacets(List<Exhibition> exhibitions) {
+        facets = new FacetIndex<>(exhibitions.size());
+        positions.clear();
+        for (int i = 0; i < exhibitions.size(); i++) {
+            Exhibition e = exhibitions.get(i);
+            positions.put(e.getId(), i);
+            facets.add(Facet.TITLE, e.getName(), i);
+            for (PaintingExhibition pe : e.getPaintingExhibitions()) {
+                Painting painting = pe.getPainting();
+                facets.add(Facet.GENRE, painting.getGenre(), i);
+                if (painting.getArtist() != null) {
+                    facets.add(Facet.ARTIST, painting.getArtist().getFullName(), i);
+                }
+                facets.add(Facet.PAINTING, painting.getTitle(), i);
             }
-        });
+        }
+    }
 
-        paintingComboBox.setOnShowing(e -> {
-            String currentPainting = paintingComboBox.getSelectionModel().getSelectedItem();
-            String selectedTitle = titleComboBox.getSelectionModel().getSelectedItem();
-            String selectedGenre = genreComboBox.getSelectionModel().getSelectedItem();
-            String selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
-
-            List<String> availablePaintings = allPaintings.stream()
-                .filter(p -> allExhibitions.stream()
-                    .anyMatch(ex -> (selectedTitle == null || ex.getName().equals(selectedTitle))
-                        && ex.getPaintingExhibitions().stream()
-                        .anyMatch(pe -> pe.getPainting().getTitle().equals(p)
-                            && (selectedGenre == null || pe.getPainting().getGenre().equals(selectedGenre))
-                            && (selectedArtist == null || pe.getPainting().getArtist().getFullName().equals(selectedArtist))
-                        )
-                    )
-                )
-                .collect(Collectors.toList());
-
-            paintingComboBox.getItems().setAll(availablePaintings);
-
-            if (currentPainting != null && availablePaintings.contains(currentPainting)) {
-                paintingComboBox.getSelectionModel().select(currentPainting);
-            } else {
-                paintingComboBox.getSelectionModel().clearSelection();
-            }
-        });
+    // найденные поиском выставки (id -> оценка), null - поиск пуст
+    private Map<Integer, Double> search() {
+        return searchService.searchExhibitions(searchField.getText().toLowerCase().trim());
     }
 
-    private void loadAllFilterValues(List<Exhibition> exhibitions) {
-        allTitles = exhibitions.stream()
-            .map(Exhibition::getName)
-            .distinct()
-            .collect(Collectors.toList());
-
-        allGenres = exhibitions.stream()
-            .flatMap(e -> e.getPaintingExhibitions().stream())
-            .map(pe -> pe.getPainting().getGenre())
-            .distinct()
-            .collect(Collectors.toList());
-
-        allArtists = exhibitions.stream()
-            .flatMap(e -> e.getPaintingExhibitions().stream())
-            .map(pe -> pe.getPainting().getArtist().getFullName())
-            .distinct()
-            .collect(Collectors.toList());
-
-        allPaintings = exhibitions.stream()
-            .flatMap(e -> e.getPaintingExhibitions().stream())
-            .map(pe -> pe.getPainting().getTitle())
-            .distinct()
-            .collect(Collectors.toList());
+    // позиции выставок под выбранные фильтры и результат поиска found; except - фасет, выбор которого не учитывается
+    private BitSet matching(Facet except, Map<Integer, Double> found) {
+        Map<Facet, Object> selected = new EnumMap<>(Facet.class);
+        selected.put(Facet.TITLE, titleComboBox.getSelectionModel().getSelectedItem());
+        selected.put(Facet.GENRE, genreComboBox.getSelectionModel().getSelectedItem());
+        selected.put(Facet.ARTIST, artistComboBox.getSelectionModel().getSelectedItem());
+        selected.put(Facet.PAINTING, paintingComboBox.getSelectionModel().getSelectedItem());
+
+        BitSet result = facets.matching(selected, except);
+        if (found != null) {
+            BitSet hits = new BitSet(facets.size());
+            for (Integer id : found.keySet()) {
+                Integer i = positions.get(id);
+                if (i != null) hits.set(i);
+            }
+            result.and(hits);
+        }
+        return result;
     }
 
     private void updateFilteredExhibitions() {
         String q = searchField.getText().toLowerCase().trim();
-        String selectedTitle = titleComboBox.getSelectionModel().getSelectedItem();
-        String selectedGenre = genreComboBox.getSelectionModel().getSelectedItem();
-        String selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
-        String selectedPainting = paintingComboBox.getSelectionModel().getSelectedItem();
-
-        List<Exhibition> filtered = allExhibitions.stream().filter(e -> {
-            boolean matches = q.isEmpty() ||
-                e.getName().toLowerCase().contains(q) ||
-                e.getPaintingExhibitions().stream().anyMatch(pe ->
-                    (pe.getPainting().getGenre() != null && pe.getPainting().getGenre().toLowerCase().contains(q)) ||
-                        (pe.getPainting().getArtist() != null && pe.getPainting().getArtist().getFullName().toLowerCase().contains(q)) ||
-                        (pe.getPainting().getTitle() != null && pe.getPainting().getTitle().toLowerCase().contains(q)) ||
-                        e.getStartDate().toString().contains(q) ||
-                        e.getEndDate().toString().contains(q)
-                );
 
-            if (selectedTitle != null) matches &= e.getName().equals(selectedTitle);
-            if (selectedGenre != null) matches &= e.getPaintingExhibitions().stream().anyMatch(pe -> selectedGenre.equals(pe.getPainting().getGenre()));
-            if (selectedArtist != null) matches &= e.getPaintingExhibitions().stream().anyMatch(pe -> pe.getPainting().getArtist().getFullName().equals(selectedArtist));
-            if (selectedPainting != null) matches &= e.getPaintingExhibitions().stream().anyMatch(pe -> selectedPainting.equals(pe.getPainting().getTitle()));
-            return matches;
-        }).collect(Collectors.toList());
+        // фильтры и поиск - пересечение позиций (поиск выполняется один раз)
+        Map<Integer, Double> found = searchService.searchExhibitions(q);
+        BitSet matching = matching(null, found);
+        List<Exhibition> filtered = new ArrayList<>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            filtered.add(allExhibitions.get(i));
+        }
+        // похожие по написанию (опечатки) - после точных совпадений
+        if (found != null) {
+            filtered.sort(Comparator.comparing(e -> -found.get(e.getId())));
+        }
 
         if (filtered.isEmpty()) {
             showEmptyMessage(q);
@@ -279,18 +256,15 @@ public class UserExhibitionsController {
 
         for (Exhibition e : exhibitions) {
             try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/user_exhibition_row.fxml"));
-                VBox row = loader.load();
-
-                Label titleText = (Label) row.lookup("#titleText");
-                Text datesText = (Text) row.lookup("#datesText");
-                Label genresText = (Label) row.lookup("#genresText");
-
-                ScrollPane descriptionScroll = (ScrollPane) row.lookup("#descriptionText");
-                Label descriptionText = (Label) descriptionScroll.getContent();
+                CardTemplates.ExhibitionRow card = new CardTemplates.ExhibitionRow();
+                VBox row = card.root;
 
-                Label artistsText = (Label) row.lookup("#artistsText");
-                Label paintingsText = (Label) row.lookup("#paintingsText");
+                Label titleText = card.titleText;
+                Text datesText = card.datesText;
+                Label genresText = card.genresText;
+                Label descriptionText = card.descriptionText;
+                Label artistsText = card.artistsText;
+                Label paintingsText = card.paintingsText;
 
                 titleText.setText(e.getName());
                 datesText.setText("С " + e.getStartDate().format(formatter) + " До " + e.getEndDate().format(formatter));
@@ -306,6 +280,7 @@ public class UserExhibitionsController {
 
                 artistsText.setText(
                     e.getPaintingExhibitions().stream()
+                        .filter(pe -> pe.getPainting().getArtist() != null)
                         .map(pe -> pe.getPainting().getArtist().getFullName())
                         .distinct()
                         .collect(Collectors.joining(", "))
@@ -1,24 +1,35 @@
 package com.gallery.controller;
 
-import com.gallery.entity.Painting;
-import com.gallery.entity.Artist;
+import com.gallery.dto.ArtistCard;
+import com.gallery.dto.PaintingCard;
 import com.gallery.service.PaintingService;
 import com.gallery.service.ArtistService;
+import com.gallery.service.ImageService;
+import com.gallery.service.SearchService;
+import com.gallery.service.TileService;
+import com.gallery.util.CardTemplates;
+import com.gallery.util.FacetIndex;
+import com.gallery.util.FxAsync;
+import com.gallery.util.TiledImageView;
+import com.gallery.util.VirtualCardGrid;
 import javafx.fxml.FXML;
 import javafx.scene.Cursor;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.text.Text;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.layout.HBox;
 
 import javafx.scene.Node;
+import javafx.application.Platform;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -31,52 +42,75 @@ import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class UserPaintingsController {
+public class UserPaintingsController implements RefreshableView {
     private static final Logger log = LoggerFactory.getLogger(UserPaintingsController.class);
 
     @FXML
-    private GridPane paintingsListGrid;
-    @FXML
-    private ScrollPane scroll;
+    private VirtualCardGrid<PaintingCard, PaintingCardView> paintingsGrid;
     @FXML
     private ComboBox<String> genreComboBox;
     @FXML
-    private ComboBox<Artist> artistComboBox;
+    private ComboBox<ArtistCard> artistComboBox;
     @FXML
     private TextField searchField;
 
-    private List<Painting> allPaintings = new ArrayList<>();
+    private List<PaintingCard> allPaintings = new ArrayList<>();
+    // позиция картины в каталоге (найденные показываются в том же порядке)
+    private final Map<Long, Integer> positions = new HashMap<>();
 
     // хранение полного списка элементов
     private List<String> allGenres = new ArrayList<>();
-    private List<Artist> allArtists = new ArrayList<>();
+    private List<ArtistCard> allArtists = new ArrayList<>();
+
+    // фасеты каталога (позиции картин по жанру и автору) и число картин у значений в открытом списке
+    private enum Facet { GENRE, ARTIST }
+    private FacetIndex<Facet> facets = new FacetIndex<>(0);
+    private Map<String, Integer> genreCounts = Map.of();
+    private Map<Integer, Integer> artistCounts = Map.of();
+    // позиции найденных картин (null - без поиска)
+    private BitSet searchHits;
 
     private final PaintingService paintingService = new PaintingService();
     private final ArtistService artistService = new ArtistService();
-
-    // все карточки отдельно
-    private final List<Node> items = new ArrayList<>();
-
-    // кэш всех карточек
-    private final List<Node> allCards = new ArrayList<>();
+    private final ImageService imageService = ImageService.getInstance();
+    private final TileService tileService = TileService.getInstance();
+    private final SearchService searchService = SearchService.getInstance();
+
+    // константы карточек
+    private static final int CARD_WIDTH = 700;
+    private static final int HGAP = 40;
+    private static final int VGAP = 40;
+    private static final int SIDE_PADDING = 80;
+    private static final int CARD_IMAGE_SIZE = 300;
+    private static final int MAX_VIEWER_TILES = 256;
+
+    // загруженные описания и карточки, ожидающие описание
+    private final Map<Long, String> descriptions = new HashMap<>();
+    private final Map<Long, PaintingCardView> pendingDescriptions = new LinkedHashMap<>();
+    private boolean descriptionLoadScheduled;
 
     @FXML
     private void initialize() {
-        scroll.viewportBoundsProperty().addListener((obs, oldVal, newVal) -> layoutCards());
-
-        scroll.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        scroll.setFitToWidth(true);
+        // виртуальная сетка: карточки создаются только для видимых строк
+        paintingsGrid.setCardLayout(CARD_WIDTH, HGAP, VGAP, SIDE_PADDING);
+        paintingsGrid.setCardFactory(new VirtualCardGrid.CardFactory<>() {
+            @Override
+            public PaintingCardView create() {
+                return createCard();
+            }
 
-        allPaintings = paintingService.getAllPaintings();
-        loadPaintings(allPaintings);
+            @Override
+            public Node node(PaintingCardView card) {
+                return card.root;
+            }
 
-        allGenres = allPaintings.stream()
-            .map(Painting::getGenre)
-            .filter(g -> g != null && !g.isEmpty())
-            .distinct()
-            .collect(Collectors.toList());
+            @Override
+            public void bind(PaintingCardView card, PaintingCard item) {
+                bindCard(card, item);
+            }
+        });
 
-        allArtists = artistService.getAllArtists();
+        loadCatalog();
 
         // установка подсказок
         genreComboBox.setButtonCell(new javafx.scene.control.ListCell<>() {
@@ -89,15 +123,28 @@ public class UserPaintingsController {
 
         artistComboBox.setButtonCell(new javafx.scene.control.ListCell<>() {
             @Override
-            protected void updateItem(Artist item, boolean empty) {
+            protected void updateItem(ArtistCard item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty || item == null ? "Выберите автора" : item.getFullName());
+                setText(empty || item == null ? "Выберите автора" : item.fullName());
             }
         });
 
-        // показываем все
-        genreComboBox.getItems().setAll(allGenres);
-        artistComboBox.getItems().setAll(allArtists);
+        // в списках рядом со значением - сколько картин будет показано
+        genreComboBox.setCellFactory(lv -> new javafx.scene.control.ListCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item + " (" + genreCounts.getOrDefault(item, 0) + ")");
+            }
+        });
+
+        artistComboBox.setCellFactory(lv -> new javafx.scene.control.ListCell<>() {
+            @Override
+            protected void updateItem(ArtistCard item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.fullName() + " (" + artistCounts.getOrDefault(item.id(), 0) + ")");
+            }
+        });
 
         // обработчики фильтрации
         PauseTransition pause = new PauseTransition(Duration.millis(250));
@@ -110,16 +157,13 @@ public class UserPaintingsController {
         genreComboBox.setOnAction(e -> updateFilteredPaintings());
         artistComboBox.setOnAction(e -> updateFilteredPaintings());
 
-        // Динамическое обновление ComboBox при открытии
+        // Динамическое обновление ComboBox при открытии: значения с картинами при остальных фильтрах
         genreComboBox.setOnShowing(e -> {
             String currentGenre = genreComboBox.getSelectionModel().getSelectedItem();
-            Artist selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
 
+            genreCounts = facets.counts(Facet.GENRE, matching(Facet.GENRE));
             List<String> availableGenres = allGenres.stream()
-                .filter(g -> selectedArtist == null || allPaintings.stream()
-                    .anyMatch(p -> g.equals(p.getGenre()) &&
-                        p.getArtist() != null &&
-                        p.getArtist().getId().equals(selectedArtist.getId())))
+                .filter(genreCounts::containsKey)
                 .collect(Collectors.toList());
 
             genreComboBox.getItems().setAll(availableGenres);
@@ -133,15 +177,11 @@ public class UserPaintingsController {
         });
 
         artistComboBox.setOnShowing(e -> {
-            Artist currentArtist = artistComboBox.getSelectionModel().getSelectedItem();
-            String selectedGenre = genreComboBox.getSelectionModel().getSelectedItem();
-
-            List<Artist> availableArtists = allArtists.stream()
-                .filter(a -> selectedGenre == null || allPaintings.stream()
-                    .anyMatch(p -> p.getGenre() != null &&
-                        p.getGenre().equals(selectedGenre) &&
-                        p.getArtist() != null &&
-                        p.getArtist().getId().equals(a.getId())))
+            ArtistCard currentArtist = artistComboBox.getSelectionModel().getSelectedItem();
+
+            artistCounts = facets.counts(Facet.ARTIST, matching(Facet.ARTIST));
+            List<ArtistCard> availableArtists = allArtists.stream()
+                .filter(a -> artistCounts.containsKey(a.id()))
                 .collect(Collectors.toList());
 
             artistComboBox.getItems().setAll(availableArtists);
@@ -155,167 +195,220 @@ public class UserPaintingsController {
         });
     }
 
-    // загрузка карточек
-    private void loadPaintings(List<Painting> paintings) {
-        items.clear();
-        allCards.clear(); // очищение кэша при первом запуске
-        paintingsListGrid.getChildren().clear();
-
-        for (Painting p : paintings) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/user_painting_row.fxml"));
-                HBox row = loader.load();
-
-                ImageView imageView = (ImageView) row.lookup("#imageView");
-                Label titleText = (Label) row.lookup("#titleText");
-                Text artistText = (Text) row.lookup("#artistText");
-                Text yearText = (Text) row.lookup("#yearText");
-                Text genreText = (Text) row.lookup("#genreText");
-                ScrollPane descriptionScroll = (ScrollPane) row.lookup("#descriptionScroll");
-                Label descriptionText = (Label) descriptionScroll.getContent();
-                descriptionText.setText(p.getDescription() != null ? p.getDescription() : "");
-
-                //  заполнение данными
-                try {
-                    Image image = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/images/paintings/" + p.getImage())));
-                    imageView.setImage(image);
-                } catch (Exception e) {
-                    imageView.setImage(new Image(Objects.requireNonNull(getClass().getResourceAsStream("/images/no_image.png"))));
-                }
-
-                // скругление улов у картинок
-                Rectangle clip = new Rectangle();
-                clip.setArcWidth(32);  // радиус
-                clip.setArcHeight(32);
-                clip.widthProperty().bind(imageView.fitWidthProperty());
-                clip.heightProperty().bind(imageView.fitHeightProperty());
-                imageView.setClip(clip);
-
-                // текст
-                titleText.setText(p.getTitle());
-                artistText.setText(p.getArtist() != null ? p.getArtist().getFullName() : "");
-                yearText.setText(p.getYear() != null ? String.valueOf(p.getYear()) : "");
-                genreText.setText(p.getGenre() != null ? p.getGenre() : "");
-                descriptionText.setText(p.getDescription() != null ? p.getDescription() : "");
-
-                // обработка клика по ImageView
-                imageView.setOnMouseClicked(event -> {
-                    Image img = imageView.getImage();
-                    if (img != null) {
-                        showFullImage(img, p.getTitle());
-                    }
-                });
-
-                items.add(row);
-                allCards.add(row); // сохранение карточек
-
-            } catch (Exception e) {
-                log.error("Ошибка при загрузке карточки картины: {}", p.getTitle(), e);
-            }
-        }
-        layoutCards();
+    // повторный показ экрана из кэша: каталог перечитывается, карточки сетки переиспользуются
+    @Override
+    public void refresh() {
+        descriptions.clear();
+        loadCatalog();
     }
 
-    private void layoutCards() {
-        if (items.isEmpty()) return;
+    // каталог и поисковый индекс загружаются в фоне
+    private void loadCatalog() {
+        FxAsync.run(() -> {
+            Catalog catalog = new Catalog(paintingService.getAllPaintingCards(), artistService.getAllArtistCards());
+            searchService.preparePaintings();
+            return catalog;
+        }, this::showCatalog);
+    }
 
-        paintingsListGrid.getChildren().clear();
-        double availableWidth = scroll.getViewportBounds().getWidth();
+    private record Catalog(List<PaintingCard> paintings, List<ArtistCard> artists) {}
 
-        // константы карточек
-        int CARD_WIDTH = 750;
-        int HGAP = 60;
+    // позиции картин под выбранные фильтры и поиск; except - фасет, выбор которого не учитывается
+    private BitSet matching(Facet except) {
+        ArtistCard selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
+        Map<Facet, Object> selected = new EnumMap<>(Facet.class);
+        selected.put(Facet.GENRE, genreComboBox.getSelectionModel().getSelectedItem());
+        selected.put(Facet.ARTIST, selectedArtist != null ? selectedArtist.id() : null);
 
-        // количество столбцов по ширине
-        int columns = Math.max(1, (int) ((availableWidth + HGAP) / (CARD_WIDTH + HGAP)));
+        BitSet result = facets.matching(selected, except);
+        if (searchHits != null) result.and(searchHits);
+        return result;
+    }
 
-        for (int i = 0; i < items.size(); i++) {
-            Node card = items.get(i);
+    private void showCatalog(Catalog catalog) {
+        allPaintings = catalog.paintings();
+        allArtists = catalog.artists();
+        positions.clear();
+        for (int i = 0; i < allPaintings.size(); i++) {
+            positions.put(allPaintings.get(i).id(), i);
+        }
+        facets = new FacetIndex<>(allPaintings.size());
+        for (int i = 0; i < allPaintings.size(); i++) {
+            PaintingCard p = allPaintings.get(i);
+            if (p.genre() != null && !p.genre().isEmpty()) facets.add(Facet.GENRE, p.genre(), i);
+            facets.add(Facet.ARTIST, p.artistId(), i);
+        }
+        allGenres = allPaintings.stream()
+            .map(PaintingCard::genre)
+            .filter(g -> g != null && !g.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
 
-            int col = i % columns;
-            int row = i / columns;
+        // показываем все
+        genreComboBox.getItems().setAll(allGenres);
+        artistComboBox.getItems().setAll(allArtists);
+        updateFilteredPaintings(); // с учетом уже введенного поиска
+    }
+
+    // ссылки на элементы одной карточки
+    private static final class PaintingCardView {
+        HBox root;
+        ImageView imageView;
+        Label titleText;
+        Text artistText;
+        Text yearText;
+        Text genreText;
+        Label descriptionText;
+        PaintingCard painting;
+    }
+
+    // создание карточки (только для видимых строк сетки)
+    private PaintingCardView createCard() {
+        PaintingCardView card = new PaintingCardView();
+        CardTemplates.PaintingRow row = new CardTemplates.PaintingRow();
+        card.root = row.root;
+        card.imageView = row.imageView;
+        card.titleText = row.titleText;
+        card.artistText = row.artistText;
+        card.yearText = row.yearText;
+        card.genreText = row.genreText;
+        card.descriptionText = row.descriptionText;
+
+        // скругление улов у картинок
+        Rectangle clip = new Rectangle();
+        clip.setArcWidth(32);  // радиус
+        clip.setArcHeight(32);
+        clip.widthProperty().bind(card.imageView.fitWidthProperty());
+        clip.heightProperty().bind(card.imageView.fitHeightProperty());
+        card.imageView.setClip(clip);
+
+        // обработка клика по ImageView
+        card.imageView.setOnMouseClicked(event -> {
+            if (card.painting != null) {
+                showFullImage(card.painting);
+            }
+        });
+        return card;
+    }
+
+    // заполнение переиспользуемой карточки данными картины
+    private void bindCard(PaintingCardView card, PaintingCard p) {
+        card.painting = p;
 
-            paintingsListGrid.add(card, col, row);
+        imageService.loadInto(card.imageView, "/images/paintings/" + p.image(), CARD_IMAGE_SIZE, CARD_IMAGE_SIZE);
+
+        // текст
+        card.titleText.setText(p.title());
+        card.artistText.setText(p.artistName() != null ? p.artistName() : "");
+        card.yearText.setText(p.year() != null ? String.valueOf(p.year()) : "");
+        card.genreText.setText(p.genre() != null ? p.genre() : "");
+
+        // описание из кэша или догружается пачкой после прокрутки
+        String description = descriptions.get(p.id());
+        if (description != null) {
+            card.descriptionText.setText(description);
+        } else {
+            card.descriptionText.setText("");
+            pendingDescriptions.put(p.id(), card);
+            if (!descriptionLoadScheduled) {
+                descriptionLoadScheduled = true;
+                Platform.runLater(this::loadPendingDescriptions);
+            }
         }
     }
 
+    // загрузка описаний для показанных карточек одним запросом
+    private void loadPendingDescriptions() {
+        descriptionLoadScheduled = false;
+
+        // карточка могла быть перепривязана к другой картине
+        pendingDescriptions.entrySet().removeIf(e -> e.getValue().painting == null || !e.getKey().equals(e.getValue().painting.id()));
+        if (pendingDescriptions.isEmpty()) return;
+
+        Map<Long, PaintingCardView> requested = new LinkedHashMap<>(pendingDescriptions);
+        pendingDescriptions.clear();
+
+        FxAsync.run(() -> paintingService.getDescriptions(requested.keySet()), loaded -> requested.forEach((id, card) -> {
+            String description = loaded.getOrDefault(id, "");
+            descriptions.put(id, description != null ? description : "");
+            // за время загрузки карточка могла показать другую картину
+            if (card.painting != null && id.equals(card.painting.id())) {
+                card.descriptionText.setText(descriptions.get(id));
+            }
+        }));
+    }
+
     @FXML
     private void filterAll() {
         // сброс всех фильтров и поиска
         searchField.clear();
         genreComboBox.getSelectionModel().clearSelection();
         artistComboBox.getSelectionModel().clearSelection();
+        searchHits = null;
 
-        items.clear();
-        items.addAll(allCards); // все карточки
-        layoutCards();
+        paintingsGrid.setCards(allPaintings); // все карточки
     }
 
     private void updateFilteredPaintings() {
         String q = searchField.getText().toLowerCase().trim();
-        String selectedGenre = genreComboBox.getSelectionModel().getSelectedItem();
-        Artist selectedArtist = artistComboBox.getSelectionModel().getSelectedItem();
-        items.clear(); // очистка текущего списка
+        List<PaintingCard> filtered = new ArrayList<>();
+
+        // найденные по индексу (null - без поиска, все картины)
+        Map<Long, Double> found = searchService.searchPaintings(q);
+        searchHits = null;
+        if (found != null) {
+            searchHits = new BitSet(allPaintings.size());
+            for (Long id : found.keySet()) {
+                Integer i = positions.get(id);
+                if (i != null) searchHits.set(i);
+            }
+        }
 
-        // фильтр картин по текущим выбранным фильтрам
-        for (int i = 0; i < allPaintings.size(); i++) {
-            Painting p = allPaintings.get(i);
-            boolean matches = (q.isEmpty() || p.getTitle().toLowerCase().contains(q)
-                || (p.getGenre() != null && p.getGenre().toLowerCase().contains(q))
-                || (p.getArtist() != null && p.getArtist().getFullName().toLowerCase().contains(q))
-                || (p.getYear() != null && String.valueOf(p.getYear()).contains(q)))
-                && (selectedGenre == null || selectedGenre.equals(p.getGenre())) && (selectedArtist == null ||
-                (p.getArtist() != null && p.getArtist().getId().equals(selectedArtist.getId())));
-            if (matches) {
-                items.add(allCards.get(i)); // готовая карточка
+        // фильтры - пересечение позиций
+        BitSet matching = matching(null);
+        if (found == null) {
+            for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                filtered.add(allPaintings.get(i));
             }
+        } else {
+            // сначала точные совпадения, затем похожие по убыванию сходства, внутри - порядок каталога
+            found.keySet().stream()
+                .filter(id -> positions.containsKey(id) && matching.get(positions.get(id)))
+                .sorted(Comparator.comparing((Long id) -> -found.get(id)).thenComparing(positions::get))
+                .forEachOrdered(id -> filtered.add(allPaintings.get(positions.get(id))));
         }
-        if (items.isEmpty()) {
+        if (filtered.isEmpty()) {
             showEmptyMessage(q);
-        } else {
-            layoutCards(); // layout без пересоздания
         }
+        paintingsGrid.setCards(filtered); // сетка переиспользует готовые карточки
     }
 
     private void showEmptyMessage(String query) {
-        items.clear();
-        paintingsListGrid.getChildren().clear();
-
         Label label = new Label(query.isEmpty() ? "Ничего не найдено" : "По запросу \"" + query + "\" ничего не найдено");
         label.setStyle("-fx-font-size: 18px; -fx-text-fill: #666; -fx-padding: 0 0 100 0; -fx-font-weight: bold;" );
-
-        // Label в StackPane для центрирования
-        StackPane wrapper = new StackPane(label);
-        wrapper.setPrefWidth(scroll.getViewportBounds().getWidth()); // всю ширину scroll
-        wrapper.setPrefHeight(scroll.getViewportBounds().getHeight()); // всю высоту scroll
-        StackPane.setAlignment(label, javafx.geometry.Pos.CENTER); // централизация Label внутри StackPane
-
-        items.add(wrapper);
-        layoutCards();
+        paintingsGrid.setPlaceholder(label);
     }
 
-    // полноразмерное изображение
-    private void showFullImage(Image image, String title) {
+    // полноразмерное изображение: тайлы с диска по видимой области
+    private void showFullImage(PaintingCard painting) {
+        String title = painting.title();
+        String imagePath = "/images/paintings/" + painting.image();
+
         Stage stage = new Stage();
         stage.initModality(Modality.APPLICATION_MODAL);
         stage.setTitle(title);
 
-        // ImageView для изображения
-        ImageView fullImageView = new ImageView(image);
-        fullImageView.setPreserveRatio(true);
-        fullImageView.setFitWidth(1200);
-        fullImageView.setFitHeight(800);
-
-        // StackPane для центрирования картинки внутри ScrollPane
-        StackPane imageContainer = new StackPane(fullImageView);
-        imageContainer.setAlignment(Pos.CENTER); // всегда по центру
-
-        // ScrollPane для прокрутки при увеличении
-        ScrollPane scrollPane = new ScrollPane(imageContainer);
-        scrollPane.setPannable(false);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setFitToHeight(true);
-        scrollPane.setStyle("-fx-background: black;");
+        // пока строится пирамида, показывается уменьшенная копия
+        TiledImageView imageView = new TiledImageView(MAX_VIEWER_TILES);
+        imageService.load(imagePath, CARD_WIDTH, CARD_WIDTH, imageView::setPreview);
+        imageView.setStyle("-fx-background-color: black;");
+        tileService.pyramidForResource(imagePath).whenComplete((pyramid, e) -> Platform.runLater(() -> {
+            if (pyramid != null) {
+                imageView.setPyramid(pyramid);
+            } else {
+                log.error("Ошибка при подготовке изображения: {}", imagePath, e);
+            }
+        }));
 
         // название картины снизу поверх изображения
         Label titleLabel = new Label(title);
@@ -328,32 +421,23 @@ public class UserPaintingsController {
         scaleLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white; -fx-background-color: rgba(0,0,0,0.5); -fx-padding: 5;");
 
         // текст на картину
-        StackPane stack = new StackPane(scrollPane, titleLabel, scaleLabel);
+        StackPane stack = new StackPane(imageView, titleLabel, scaleLabel);
         StackPane.setAlignment(titleLabel, Pos.BOTTOM_CENTER);
         StackPane.setAlignment(scaleLabel, Pos.TOP_RIGHT);
 
         Scene scene = new Scene(stack, 1200, 800);
         stage.setScene(scene);
 
-        // масштабирование шаг 0.25
-        final double[] scale = {1.0};
+        // масштабирование шаг 0.25 вокруг курсора, максимум - до пикселей оригинала (не меньше 5)
         stack.setOnScroll(event -> {
             double delta = event.getDeltaY() > 0 ? 0.25 : -0.25;
-            double newScale = scale[0] + delta;
-            newScale = Math.max(1.0, Math.min(5.0, newScale));
-            scale[0] = newScale;
+            double maxScale = Math.max(5.0, imageView.getFullResolutionZoom());
+            double newScale = Math.max(1.0, Math.min(maxScale, imageView.getZoom() + delta));
 
-            fullImageView.setScaleX(scale[0]);
-            fullImageView.setScaleY(scale[0]);
+            imageView.zoomTo(newScale, event.getX(), event.getY());
 
             // курсор MOVE масштаб >= 1.5
-            if (scale[0] >= 1.5) {
-                fullImageView.setCursor(Cursor.MOVE);
-            } else {
-                fullImageView.setCursor(Cursor.DEFAULT);
-                fullImageView.setTranslateX(0);
-                fullImageView.setTranslateY(0);
-            }
+            imageView.setCursor(newScale >= 1.5 ? Cursor.MOVE : Cursor.DEFAULT);
 
             // текст масштаба
             scaleLabel.setText(String.format("Масштаб: %.2f", newScale));
@@ -364,24 +448,17 @@ public class UserPaintingsController {
         // перетаскивание изображения если масштаб >= 1.5
         final double[] mouseAnchorX = new double[1];
         final double[] mouseAnchorY = new double[1];
-        final double[] translateX = new double[1];
-        final double[] translateY = new double[1];
 
-        fullImageView.setOnMousePressed(event -> {
-            if (event.isPrimaryButtonDown() && scale[0] >= 1.5) {
-                mouseAnchorX[0] = event.getSceneX();
-                mouseAnchorY[0] = event.getSceneY();
-                translateX[0] = fullImageView.getTranslateX();
-                translateY[0] = fullImageView.getTranslateY();
-            }
+        imageView.setOnMousePressed(event -> {
+            mouseAnchorX[0] = event.getSceneX();
+            mouseAnchorY[0] = event.getSceneY();
         });
 
-        fullImageView.setOnMouseDragged(event -> {
-            if (event.isPrimaryButtonDown() && scale[0] >= 1.5) {
-                double deltaX = event.getSceneX() - mouseAnchorX[0];
-                double deltaY = event.getSceneY() - mouseAnchorY[0];
-                fullImageView.setTranslateX(translateX[0] + deltaX);
-                fullImageView.setTranslateY(translateY[0] + deltaY);
+        imageView.setOnMouseDragged(event -> {
+            if (event.isPrimaryButtonDown() && imageView.getZoom() >= 1.5) {
+                imageView.panBy(event.getSceneX() - mouseAnchorX[0], event.getSceneY() - mouseAnchorY[0]);
+                mouseAnchorX[0] = event.getSceneX();
+                mouseAnchorY[0] = event.getSceneY();
             }
         });
 
@@ -1,21 +1,24 @@
 package com.gallery.controller;
 
 import com.gallery.entity.User;
+import com.gallery.service.SearchService;
 import com.gallery.service.UserService;
+import com.gallery.util.CardTemplates;
+import com.gallery.util.FxAsync;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
-import java.io.IOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class UsersController {
+public class UsersController implements RefreshableView {
 
     @FXML
     private ScrollPane usersScrollPane;
@@ -27,6 +30,8 @@ public class UsersController {
     private TextField searchField;
 
     private final UserService userService = new UserService();
+    private final SearchService searchService = SearchService.getInstance();
+    private final FxAsync.Latest usersRequest = new FxAsync.Latest();
     private User currentUser;
 
     private List<User> allUsers;
@@ -35,17 +40,11 @@ public class UsersController {
 
     @FXML
     private void initialize() {
-        // получение всех пользователей
-        allUsers = userService.getAllUsers();
-
-        // вычисление уникальных ролей из существующих пользователей
-        List<String> roles = allUsers.stream()
+        // уникальные роли существующих пользователей (загрузка в фоне)
+        FxAsync.run(() -> userService.getAllUsers().stream()
             .map(User::getRole)
             .distinct()
-            .toList();
-
-        // заполнение ComboBox ролями
-        roleComboBox.setItems(FXCollections.observableArrayList(roles));
+            .toList(), roles -> roleComboBox.setItems(FXCollections.observableArrayList(roles)));
 
         // привязка фильтра к ComboBox
         roleComboBox.setOnAction(e -> onSearch());
@@ -73,10 +72,23 @@ public class UsersController {
         loadUsers(); // загрузка пользователей после установки currentUser
     }
 
+    // повторный показ экрана из кэша
+    @Override
+    public void refresh() {
+        loadUsers();
+    }
+
     private void loadUsers() {
         if (currentUser == null) return;
-        allUsers = userService.getAllUsers();
-        updateUsersView(allUsers);
+        // предыдущая незавершенная загрузка отменяется
+        usersRequest.submit(() -> {
+            List<User> users = userService.getAllUsers();
+            searchService.prepareUsers();
+            return users;
+        }, users -> {
+            allUsers = users;
+            onSearch(); // с учетом текущих фильтров
+        });
     }
 
     private void showConfirmDialog(User user, String newRole) {
@@ -93,11 +105,14 @@ public class UsersController {
 
         alert.showAndWait().ifPresent(result -> {
             if (result == confirm) {
-                try {
+                FxAsync.run(() -> {
                     userService.updateRole(user, newRole, currentUser);
-                } catch (SecurityException ex) {
-                    new Alert(Alert.AlertType.ERROR, ex.getMessage()).show();
-                }
+                    return null;
+                }, ignored -> loadUsers(), ex -> {
+                    showError(ex);
+                    loadUsers();
+                });
+                return;
             }
             loadUsers();
         });
@@ -112,78 +127,70 @@ public class UsersController {
             usersTilePane.getChildren().clear();
 
             for (User user : users) {
-                try {
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/user_row.fxml"));
-                    HBox userRow = loader.load();
-
-                    Label usernameLabel = (Label) loader.getNamespace().get("usernameLabel");
-                    usernameLabel.setText(user.getUsername());
-
-                    @SuppressWarnings("unchecked")
-                    ComboBox<String> roleComboBox = (ComboBox<String>) loader.getNamespace().get("roleComboBox");
-
-                    // кнопка удаления
-                    Button deleteButton = (Button) loader.getNamespace().get("deleteButton");
-                    deleteButton.setText("\u2716");
-
-                    boolean isSelf = currentUser.getUsername().equalsIgnoreCase(user.getUsername());
-                    boolean isMainAdmin = "admin".equalsIgnoreCase(user.getUsername());
-                    boolean isCurrentUserAdmin = "admin".equalsIgnoreCase(currentUser.getRole());
-                    boolean isCurrentUserSuperAdmin = "admin".equalsIgnoreCase(currentUser.getUsername());
-
-                    if (isSelf || isMainAdmin) {
-                        deleteButton.setVisible(false);
-                    } else {
-                        deleteButton.setVisible(true);
-                        deleteButton.setDisable(!isCurrentUserAdmin && !isCurrentUserSuperAdmin);
-                    }
+                CardTemplates.UserRow row = new CardTemplates.UserRow();
+                HBox userRow = row.root;
 
-                    // обработчик кнопки удаления
-                    deleteButton.setOnAction(e -> {
-                    Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
-                    confirmAlert.setTitle("Подтверждение удаления");
-                    confirmAlert.setHeaderText("Удаление пользователя");
-                    confirmAlert.setContentText("Вы действительно хотите удалить пользователя \"" + user.getUsername() + "\"?");
-
-                    DialogPane dialogPane = confirmAlert.getDialogPane();
-                    dialogPane.lookup(".content.label").setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-alignment: center;");
-
-                    // кнопки подтверждения и отмены
-                    ButtonType delete = new ButtonType("Удалить", ButtonBar.ButtonData.LEFT);
-                    ButtonType cancel = new ButtonType("Отмена", ButtonBar.ButtonData.RIGHT);
-                    confirmAlert.getButtonTypes().setAll(delete, cancel);
-
-                    confirmAlert.showAndWait().ifPresent(result -> {
-                        if (result == delete) {
-                            try {
-                                userService.deleteUser(user, currentUser);
-                                loadUsers();
-                            } catch (SecurityException ex) {
-                                new Alert(Alert.AlertType.ERROR, ex.getMessage()).show();
-                            }
-                        }
-                    });
-                });
+                Label usernameLabel = row.usernameLabel;
+                usernameLabel.setText(user.getUsername());
 
-                    usernameLabel.setText(user.getUsername());
-                    roleComboBox.setItems(FXCollections.observableArrayList("admin", "user"));
-                    roleComboBox.setValue(user.getRole());
+                ComboBox<String> roleComboBox = row.roleComboBox;
 
-                    // блокировка смены роли
-                    roleComboBox.setDisable(isSelf || isMainAdmin || !isCurrentUserAdmin);
-                    roleComboBox.setOnAction(e -> {
-                        String newRole = roleComboBox.getValue();
-                        if (!newRole.equals(user.getRole())) {
-                            showConfirmDialog(user, newRole);
-                        }
-                    });
+                // кнопка удаления
+                Button deleteButton = row.deleteButton;
+                deleteButton.setText("\u2716");
 
-                    userRow.setPrefWidth(200);
-                    usersTilePane.getChildren().add(userRow);
+                boolean isSelf = currentUser.getUsername().equalsIgnoreCase(user.getUsername());
+                boolean isMainAdmin = "admin".equalsIgnoreCase(user.getUsername());
+                boolean isCurrentUserAdmin = "admin".equalsIgnoreCase(currentUser.getRole());
+                boolean isCurrentUserSuperAdmin = "admin".equalsIgnoreCase(currentUser.getUsername());
 
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "Ошибка загрузки user_row.fxml", e);
+                if (isSelf || isMainAdmin) {
+                    deleteButton.setVisible(false);
+                } else {
+                    deleteButton.setVisible(true);
+                    deleteButton.setDisable(!isCurrentUserAdmin && !isCurrentUserSuperAdmin);
                 }
+
+                // обработчик кнопки удаления
+                deleteButton.setOnAction(e -> {
+                Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+                confirmAlert.setTitle("Подтверждение удаления");
+                confirmAlert.setHeaderText("Удаление пользователя");
+                confirmAlert.setContentText("Вы действительно хотите удалить пользователя \"" + user.getUsername() + "\"?");
+
+                DialogPane dialogPane = confirmAlert.getDialogPane();
+                dialogPane.lookup(".content.label").setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-alignment: center;");
+
+                // кнопки подтверждения и отмены
+                ButtonType delete = new ButtonType("Удалить", ButtonBar.ButtonData.LEFT);
+                ButtonType cancel = new ButtonType("Отмена", ButtonBar.ButtonData.RIGHT);
+                confirmAlert.getButtonTypes().setAll(delete, cancel);
+
+                confirmAlert.showAndWait().ifPresent(result -> {
+                    if (result == delete) {
+                        FxAsync.run(() -> {
+                            userService.deleteUser(user, currentUser);
+                            return null;
+                        }, ignored -> loadUsers(), UsersController.this::showError);
+                    }
+                });
+            });
+
+                usernameLabel.setText(user.getUsername());
+                roleComboBox.setItems(FXCollections.observableArrayList("admin", "user"));
+                roleComboBox.setValue(user.getRole());
+
+                // блокировка смены роли
+                roleComboBox.setDisable(isSelf || isMainAdmin || !isCurrentUserAdmin);
+                roleComboBox.setOnAction(e -> {
+                    String newRole = roleComboBox.getValue();
+                    if (!newRole.equals(user.getRole())) {
+                        showConfirmDialog(user, newRole);
+                    }
+                });
+
+                userRow.setPrefWidth(200);
+                usersTilePane.getChildren().add(userRow);
             }
         }
     }
@@ -196,9 +203,13 @@ public class UsersController {
         String query = searchField.getText().toLowerCase().trim();
         String selectedRole = roleComboBox.getValue();
 
+        Map<Integer, Double> found = searchService.searchUsers(query);
+
+        // похожие по написанию (опечатки) - после точных совпадений
         List<User> filtered = allUsers.stream()
-            .filter(u -> (query.isEmpty() || u.getUsername().toLowerCase().contains(query)) &&
+            .filter(u -> (found == null || found.containsKey(u.getId())) &&
                 (selectedRole == null || u.getRole().equalsIgnoreCase(selectedRole)))
+            .sorted(Comparator.comparing(u -> found != null ? -found.get(u.getId()) : 0))
             .toList();
 
         updateUsersView(filtered);
@@ -214,6 +225,14 @@ public class UsersController {
         }
     }
 
+    // ошибка запрета (SecurityException) показывается пользователю
+    private void showError(Throwable ex) {
+        if (!(ex instanceof SecurityException)) {
+            logger.log(Level.SEVERE, "Ошибка при изменении пользователя", ex);
+        }
+        new Alert(Alert.AlertType.ERROR, ex.getMessage()).show();
+    }
+
     private void showEmptyMessage(String query) {
         // Label
         Label label = new Label(query.isEmpty() ? "Ничего не найдено" : "По запросу \"" + query + "\" ничего не найдено");
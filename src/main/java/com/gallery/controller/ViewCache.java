@@ -0,0 +1,142 @@
+package com.gallery.controller;
+
+import com.gallery.service.DataVersion;
+import com.gallery.util.FxAsync;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// экраны главного окна на время сессии пользователя: FXML разбирается один раз,
+// повторное открытие показывает готовый экран, а контроллер обновляет данные, только если они менялись.
+// Вероятные следующие экраны готовятся заранее в фоне. Методы вызываются из FX потока.
+final class ViewCache {
+    private static final Logger log = LoggerFactory.getLogger(ViewCache.class);
+
+    private final Map<String, View> views = new HashMap<>();
+    // настройка нового контроллера (передача пользователя)
+    private final Consumer<Object> setup;
+    private final String stylesheet = Objects.requireNonNull(ViewCache.class.getResource("/application.css")).toExternalForm();
+
+    // очередь фоновой подготовки и экран, который готовится сейчас (не больше одного)
+    private final Deque<String> preloadQueue = new ArrayDeque<>();
+    private final Map<String, CompletableFuture<View>> loading = new HashMap<>();
+
+    private View shown;
+    // последний запрошенный экран (может еще готовиться)
+    private String requested;
+
+    private static final class View {
+        final Parent root;
+        final Object controller;
+        // версия данных, с которой экран был показан последним
+        long version;
+
+        View(Parent root, Object controller, long version) {
+            this.root = root;
+            this.controller = controller;
+            this.version = version;
+        }
+    }
+
+    ViewCache(Consumer<Object> setup) {
+        this.setup = setup;
+    }
+
+    // показать экран: из кэша (с обновлением данных при изменениях) или загруженный сейчас.
+    // Экран, который еще готовится в фоне, не разбирается второй раз: до готовности показывается индикатор
+    void show(String path, Consumer<Parent> display) throws IOException {
+        // уходящий экран актуален на текущую версию (свои изменения он показал сам)
+        if (shown != null) shown.version = DataVersion.current();
+        requested = path;
+
+        View view = views.get(path);
+        CompletableFuture<View> pending = loading.get(path);
+        if (view == null && pending != null) {
+            shown = null;
+            display.accept(new StackPane(new ProgressIndicator()));
+            // после подготовки экран уже в кэше, при ошибке он загрузится здесь
+            pending.whenComplete((ready, e) -> {
+                if (!path.equals(requested)) return;
+                try {
+                    show(path, display);
+                } catch (IOException ex) {
+                    log.error("Ошибка загрузки экрана: {}", path, ex);
+                }
+            });
+            return;
+        }
+        if (view == null) {
+            view = prepare(parse(path));
+            views.put(path, view);
+        } else if (view.version != DataVersion.current() && view.controller instanceof RefreshableView refreshable) {
+            refreshable.refresh();
+            view.version = DataVersion.current();
+        }
+        shown = view;
+        display.accept(view.root);
+    }
+
+    // подготовить экраны заранее: по одному в фоне, чтобы не занимать все соединения с БД
+    void preload(List<String> paths) {
+        for (String path : paths) {
+            if (!views.containsKey(path) && !preloadQueue.contains(path) && !loading.containsKey(path)) {
+                preloadQueue.add(path);
+            }
+        }
+        preloadNext();
+    }
+
+    private void preloadNext() {
+        if (!loading.isEmpty()) return;
+        String path;
+        do {
+            path = preloadQueue.poll();
+            if (path == null) return;
+        } while (views.containsKey(path));
+
+        String loaded = path;
+        // разбор в фоне, настройка и все зависимые действия - в FX потоке
+        CompletableFuture<View> future = FxAsync.supply(() -> parse(loaded))
+            .thenApply(this::prepare)
+            .whenComplete((view, e) -> {
+                loading.remove(loaded);
+                if (e == null) {
+                    views.put(loaded, view);
+                } else {
+                    log.warn("Не удалось подготовить экран заранее: {}", loaded, e);
+                }
+                preloadNext();
+            });
+        loading.put(loaded, future);
+    }
+
+    // разбор FXML: узлы вне сцены можно создавать в любом потоке.
+    // Версия берется до разбора - контроллер начинает загрузку данных в initialize
+    private View parse(String path) throws IOException {
+        long version = DataVersion.current();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(path));
+        Parent root = loader.load();
+        return new View(root, loader.getController(), version);
+    }
+
+    // настройка в FX потоке
+    private View prepare(View view) {
+        view.root.getStylesheets().add(stylesheet);
+        setup.accept(view.controller);
+        return view;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gallery.dto;
+
+import java.time.LocalDate;
+
+// облегченный художник для карточек и ComboBox (без биографии)
+public record ArtistCard(Integer id, String fullName, String image, LocalDate birthDate, LocalDate deathDate) {
+
+    // toString для корректного отображения в ComboBox
+    @Override
+    public String toString() {
+        return fullName;
+    }
+}
@@ -0,0 +1,5 @@
+package com.gallery.dto;
+
+// одна строка гистограммы: значение группы и количество
+public record CountByKey(String key, long count) {
+}
@@ -0,0 +1,6 @@
+package com.gallery.dto;
+
+// облегченная картина для карточек и списков (без длинного описания)
+public record PaintingCard(Long id, String title, String genre, Integer year, String image,
+                           Integer artistId, String artistName) {
+}
@@ -0,0 +1,6 @@
+package com.gallery.dto;
+
+// итоговые показатели для статистики (считаются в БД)
+public record StatsSummary(long paintings, long artists, long exhibitions, long users,
+                           Double averagePaintingAge, Double averageExhibitionDays) {
+}
@@ -1,10 +1,14 @@
 package com.gallery.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "exhibitions")
 public class Exhibition {
     @Id
@@ -24,6 +28,8 @@ public class Exhibition {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // коллекция не кэшируется: связи добавляются со стороны PaintingExhibition и удаляются каскадом в БД
+    // (ON DELETE CASCADE при удалении картины или автора), кэш коллекции об этом не узнает
     @OneToMany(mappedBy = "exhibition", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PaintingExhibition> paintingExhibitions;
 
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "paintings")
+@NamedEntityGraph(name = Painting.GRAPH_WITH_ARTIST, attributeNodes = @NamedAttributeNode("artist"))
 public class Painting {
+    // граф загрузки картины вместе с художником одним запросом
+    public static final String GRAPH_WITH_ARTIST = "Painting.withArtist";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,8 +22,8 @@ public class Painting {
 
     private String image;
 
-    // связь с художником
-    @ManyToOne
+    // связь с художником (загружается явно через граф или join fetch)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artist_id")
     private Artist artist;
 
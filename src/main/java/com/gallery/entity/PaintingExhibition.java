@@ -6,15 +6,17 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "painting_exhibition")
 public class PaintingExhibition {
+    // последовательность с pooled-оптимизатором (шаг 50), чтобы вставки шли JDBC батчами
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "painting_exhibition_seq")
+    @SequenceGenerator(name = "painting_exhibition_seq", sequenceName = "painting_exhibition_id_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "painting_id", nullable = false)
     private Painting painting;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exhibition_id", nullable = false)
     private Exhibition exhibition;
 
@@ -1,10 +1,14 @@
 package com.gallery.repository;
 
 import com.gallery.config.HibernateUtil;
+import com.gallery.dto.ArtistCard;
 import com.gallery.entity.Artist;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,19 +16,82 @@ import org.slf4j.LoggerFactory;
 public class ArtistRepository {
     private static final Logger log = LoggerFactory.getLogger(ArtistRepository.class);
 
+    // поля для поиска и сортировки страниц
+    private static final List<String> SEARCH = List.of(
+        PageQueries.like("a.fullName"), PageQueries.like("a.biography"),
+        PageQueries.like("str(a.birthDate)"), PageQueries.like("str(a.deathDate)"));
+    private static final Map<String, String> SORT = Map.of("id", "a.id", "fullName", "a.fullName");
+
+    // полнотекстовый поиск (tsvector + GIN)
+    private static final FullTextQueries.Target FTS = new FullTextQueries.Target("a.id", "artists a",
+        "a.search_vector @@ q.query", "a.search_vector", List.of("a.full_name"), Map.of("fullName", "a.full_name"));
+
     // сохранить или обновить автора
-    public void save(Artist artist) {
+    public Artist save(Artist artist) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Transaction tx = session.beginTransaction();
-            session.merge(artist);
+            if (artist.getId() == null) {
+                StatsRollups.countChanged(session, "artists", 1);
+            }
+            Artist saved = session.merge(artist);
             tx.commit();
+            return saved;
         }
     }
 
-    // получить всех авторов
+    // получить всех авторов (результат в кэше запросов до изменения таблицы)
     public List<Artist> findAll() {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Artist", Artist.class).list();
+            return session.createQuery("FROM Artist", Artist.class).setCacheable(true).list();
+        }
+    }
+
+    // карточки авторов без биографии
+    public List<ArtistCard> findAllCards() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                "SELECT new com.gallery.dto.ArtistCard(a.id, a.fullName, a.image, a.birthDate, a.deathDate) " +
+                    "FROM Artist a ORDER BY a.id", ArtistCard.class).setCacheable(true).list();
+        }
+    }
+
+    // биографии авторов по id (догружаются по требованию)
+    public Map<Integer, String> findBiographies(Collection<Integer> ids) {
+        Map<Integer, String> result = new HashMap<>();
+        if (ids.isEmpty()) return result;
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.createQuery("SELECT a.id, a.biography FROM Artist a WHERE a.id IN :ids", Object[].class)
+                .setParameterList("ids", ids)
+                .list()
+                .forEach(row -> result.put((Integer) row[0], (String) row[1]));
+        }
+        return result;
+    }
+
+    // страница авторов (поиск и сортировка на стороне БД)
+    public List<Artist> findPage(PageRequest page) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            if (FullTextQueries.tsQuery(page.search()) != null) {
+                List<Integer> ids = FullTextQueries.ids(session, FTS, page).stream().map(Number::intValue).toList();
+                if (ids.isEmpty()) return List.of();
+                List<Artist> rows = session.createQuery("SELECT a FROM Artist a WHERE a.id IN :ids", Artist.class)
+                    .setParameterList("ids", ids)
+                    .list();
+                return FullTextQueries.inOrder(rows, ids, Artist::getId);
+            }
+            return PageQueries.page(session, Artist.class, "SELECT a FROM Artist a",
+                "a.id", SORT.getOrDefault(page.sortField(), "a.id"), SEARCH, page);
+        }
+    }
+
+    // количество авторов по запросу
+    public long count(String search) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            if (FullTextQueries.tsQuery(search) != null) {
+                return FullTextQueries.count(session, FTS, search);
+            }
+            return PageQueries.count(session, "FROM Artist a", SEARCH, search);
         }
     }
 
@@ -40,6 +107,7 @@ public class ArtistRepository {
         Transaction tx = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
+            StatsRollups.artistDeleted(session, artist.getId()); // вместе с картинами (каскад в БД)
             session.delete(artist);  // удалить автора из базы
             tx.commit();
         } catch (Exception e) {
@@ -5,6 +5,7 @@ import com.gallery.entity.Exhibition;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,19 +13,68 @@ import org.slf4j.LoggerFactory;
 public class ExhibitionRepository {
     private static final Logger log = LoggerFactory.getLogger(ExhibitionRepository.class);
 
+    // поля для поиска и сортировки страниц
+    private static final List<String> SEARCH = List.of(
+        PageQueries.like("e.name"), PageQueries.like("e.location"), PageQueries.like("e.description"),
+        PageQueries.like("str(e.startDate)"), PageQueries.like("str(e.endDate)"),
+        "EXISTS (SELECT 1 FROM PaintingExhibition spe WHERE spe.exhibition = e AND " + PageQueries.like("spe.painting.title") + ")");
+    private static final Map<String, String> SORT = Map.of("id", "e.id", "name", "e.name");
+
+    // полнотекстовый поиск по выставке и картинам на ней (tsvector + GIN)
+    private static final FullTextQueries.Target FTS = new FullTextQueries.Target("e.id", "exhibitions e",
+        "e.search_vector @@ q.query OR EXISTS (SELECT 1 FROM painting_exhibition spe " +
+            "JOIN paintings sp ON sp.id = spe.painting_id WHERE spe.exhibition_id = e.id AND sp.search_vector @@ q.query)",
+        "e.search_vector", List.of("e.name"), Map.of("name", "e.name"));
+
     // сохранить или обновить выставку
     public void save(Exhibition exhibition) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Transaction tx = session.beginTransaction();
+            StatsRollups.ExhibitionKeys before = StatsRollups.exhibitionKeys(session, exhibition.getId());
             session.merge(exhibition);
+            StatsRollups.exhibitionChanged(session, before, StatsRollups.ExhibitionKeys.of(exhibition));
             tx.commit();
         }
     }
 
-    // получить все выставки
-    public List<Exhibition> findAll() {
+    // страница выставок вместе с картинами (поиск и сортировка на стороне БД)
+    public List<Exhibition> findPage(PageRequest page) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Exhibition> exhibitions;
+            if (FullTextQueries.tsQuery(page.search()) != null) {
+                List<Integer> ids = FullTextQueries.ids(session, FTS, page).stream().map(Number::intValue).toList();
+                if (ids.isEmpty()) return List.of();
+                exhibitions = FullTextQueries.inOrder(
+                    session.createQuery("SELECT e FROM Exhibition e WHERE e.id IN :ids", Exhibition.class)
+                        .setParameterList("ids", ids)
+                        .list(), ids, Exhibition::getId);
+            } else {
+                exhibitions = PageQueries.page(session, Exhibition.class, "SELECT e FROM Exhibition e",
+                    "e.id", SORT.getOrDefault(page.sortField(), "e.id"), SEARCH, page);
+            }
+
+            // картины страницы догружаются вторым запросом (join fetch коллекции нельзя ограничить LIMIT)
+            if (!exhibitions.isEmpty()) {
+                session.createQuery(
+                        "SELECT DISTINCT e FROM Exhibition e " +
+                            "LEFT JOIN FETCH e.paintingExhibitions pe " +
+                            "LEFT JOIN FETCH pe.painting p " +
+                            "LEFT JOIN FETCH p.artist " +
+                            "WHERE e IN :page", Exhibition.class)
+                    .setParameterList("page", exhibitions)
+                    .list();
+            }
+            return exhibitions;
+        }
+    }
+
+    // количество выставок по запросу
+    public long count(String search) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Exhibition", Exhibition.class).list();
+            if (FullTextQueries.tsQuery(search) != null) {
+                return FullTextQueries.count(session, FTS, search);
+            }
+            return PageQueries.count(session, "FROM Exhibition e", SEARCH, search);
         }
     }
 
@@ -33,6 +83,7 @@ public class ExhibitionRepository {
         Transaction tx = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
+            StatsRollups.exhibitionChanged(session, StatsRollups.exhibitionKeys(session, exhibition.getId()), null);
             session.delete(exhibition); // удалить выставку из базы
             tx.commit();
         } catch (Exception e) {
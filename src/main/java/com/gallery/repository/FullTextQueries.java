@@ -0,0 +1,102 @@
+package com.gallery.repository;
+
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// полнотекстовый поиск PostgreSQL: вычисляемые колонки search_vector (tsvector) с GIN индексами.
+// Текст разбирается русской и английской конфигурацией, слова запроса ищутся как префиксы.
+// Опечатки в названиях и именах находятся по триграммам (pg_trgm, оператор <% с GIN индексом).
+// Результат сортируется по ts_rank и сходству и ограничивается LIMIT.
+// Колонки и индексы создает миграция db/migration/V3__full_text_search.sql.
+final class FullTextQueries {
+
+    // запрос с русскими и английскими основами слов (параметр :tq) и исходный текст (:text),
+    // в условиях доступны как q.query и q.text
+    private static final String TS_QUERY = "(SELECT to_tsquery('russian', :tq) || to_tsquery('english', :tq) AS query, " +
+        "CAST(:text AS text) AS text) q";
+
+    // что и где искать: id - колонка id, where - условие по q.query, vector - tsvector для ts_rank,
+    // fuzzy - колонки для поиска с опечатками, sort - поля сортировки страницы -> колонки
+    record Target(String id, String from, String where, String vector, List<String> fuzzy, Map<String, String> sort) {}
+
+
+    private FullTextQueries() {}
+
+    // слова запроса как префиксы: "айваз море" -> "айваз:* & море:*"; null - слов нет
+    static String tsQuery(String search) {
+        if (search == null) return null;
+        List<String> words = new ArrayList<>();
+        for (String word : search.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word + ":*");
+        }
+        return words.isEmpty() ? null : String.join(" & ", words);
+    }
+
+    // id строк страницы: сортировка по выбранному полю или по релевантности
+    static List<Number> ids(Session session, Target target, PageRequest page) {
+        String orderBy = target.sort().get(page.sortField());
+        String direction = page.ascending() ? " ASC" : " DESC";
+        String order = orderBy != null
+            ? orderBy + direction + ", " + target.id() + direction
+            : rank(target) + " DESC, " + target.id();
+
+        NativeQuery<Number> query = session.createNativeQuery(
+            "SELECT " + target.id() + " FROM " + target.from() + ", " + TS_QUERY + " WHERE " + where(target) +
+                " ORDER BY " + order + " LIMIT :limit OFFSET :offset", Number.class);
+        setSearch(query, page.search());
+        query.setParameter("limit", page.limit());
+        query.setParameter("offset", page.offset());
+        return query.list();
+    }
+
+    static long count(Session session, Target target, String search) {
+        NativeQuery<Number> query = session.createNativeQuery(
+            "SELECT count(*) FROM " + target.from() + ", " + TS_QUERY + " WHERE " + where(target), Number.class);
+        setSearch(query, search);
+        return query.getSingleResult().longValue();
+    }
+
+    // совпадение по словам или по сходству триграмм хотя бы одной колонки
+    private static String where(Target target) {
+        StringBuilder where = new StringBuilder("(").append(target.where());
+        for (String column : target.fuzzy()) {
+            where.append(" OR q.text <% ").append(column);
+        }
+        return where.append(")").toString();
+    }
+
+    // ts_rank плюс лучшее сходство слов запроса с колонками (0..1)
+    private static String rank(Target target) {
+        String rank = "ts_rank(" + target.vector() + ", q.query)";
+        if (target.fuzzy().isEmpty()) return rank;
+
+        List<String> similarities = new ArrayList<>();
+        for (String column : target.fuzzy()) {
+            similarities.add("word_similarity(q.text, " + column + ")");
+        }
+        return rank + " + coalesce(greatest(" + String.join(", ", similarities) + "), 0)";
+    }
+
+    private static void setSearch(NativeQuery<?> query, String search) {
+        query.setParameter("tq", tsQuery(search));
+        query.setParameter("text", search.trim().toLowerCase());
+    }
+
+    // сущности в порядке найденных id
+    static <T, K> List<T> inOrder(List<T> rows, List<K> ids, Function<T, K> idOf) {
+        Map<K, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        List<T> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(row -> positions.getOrDefault(idOf.apply(row), Integer.MAX_VALUE)));
+        return sorted;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gallery.repository;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// построение HQL для серверной пагинации: поиск через LIKE, сортировка и keyset
+final class PageQueries {
+
+    private PageQueries() {}
+
+    // условие поиска по полю без учета регистра
+    static String like(String path) {
+        return "lower(" + path + ") LIKE :q";
+    }
+
+    static <T> List<T> page(Session session, Class<T> type, String select, String idPath, String sortPath,
+                            List<String> searchPredicates, PageRequest page) {
+        StringBuilder hql = new StringBuilder(select);
+        List<String> where = new ArrayList<>();
+        boolean byId = sortPath.equals(idPath);
+        String op = page.ascending() ? ">" : "<";
+
+        if (page.hasSearch()) {
+            where.add("(" + String.join(" OR ", searchPredicates) + ")");
+        }
+        if (page.isKeyset()) {
+            if (byId) {
+                where.add(idPath + " " + op + " :afterId");
+            } else {
+                where.add("(" + sortPath + " " + op + " :afterValue OR (" + sortPath + " = :afterValue AND " + idPath + " " + op + " :afterId))");
+            }
+        }
+        if (!where.isEmpty()) {
+            hql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+
+        // id всегда последний ключ сортировки, чтобы порядок был однозначным
+        String direction = page.ascending() ? " ASC" : " DESC";
+        hql.append(" ORDER BY ");
+        if (!byId) hql.append(sortPath).append(direction).append(", ");
+        hql.append(idPath).append(direction);
+
+        Query<T> query = session.createQuery(hql.toString(), type);
+        if (page.hasSearch()) {
+            query.setParameter("q", pattern(page.search()));
+        }
+        if (page.isKeyset()) {
+            query.setParameter("afterId", page.afterId());
+            if (!byId) query.setParameter("afterValue", page.afterValue());
+        } else {
+            query.setFirstResult(page.offset());
+        }
+        query.setMaxResults(page.limit());
+        return query.list();
+    }
+
+    static long count(Session session, String from, List<String> searchPredicates, String search) {
+        String hql = "SELECT COUNT(*) " + from;
+        boolean hasSearch = search != null && !search.isBlank();
+        if (hasSearch) {
+            hql += " WHERE (" + String.join(" OR ", searchPredicates) + ")";
+        }
+        Query<Long> query = session.createQuery(hql, Long.class);
+        if (hasSearch) {
+            query.setParameter("q", pattern(search));
+        }
+        return query.uniqueResult();
+    }
+
+    private static String pattern(String search) {
+        return "%" + search.toLowerCase().trim() + "%";
+    }
+}
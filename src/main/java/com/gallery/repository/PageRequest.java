@@ -0,0 +1,15 @@
+package com.gallery.repository;
+
+// параметры страницы: поиск, сортировка и позиция (keyset после строки или offset)
+public record PageRequest(String search, String sortField, boolean ascending,
+                          Object afterValue, Object afterId, int offset, int limit) {
+
+    // keyset: продолжить после последней строки предыдущей страницы
+    public boolean isKeyset() {
+        return afterId != null;
+    }
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+}
@@ -4,9 +4,12 @@ import com.gallery.config.HibernateUtil;
 import com.gallery.entity.PaintingExhibition;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.query.Query;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class PaintingExhibitionRepository {
@@ -20,6 +23,28 @@ public class PaintingExhibitionRepository {
         }
     }
 
+    // вставка связей в транзакции вызывающего JDBC батчами (hibernate.jdbc.batch_size)
+    public void persistAll(Session session, Collection<PaintingExhibition> paintingExhibitions) {
+        int batchSize = jdbcBatchSize();
+        List<PaintingExhibition> batch = new ArrayList<>(batchSize);
+        for (PaintingExhibition pe : paintingExhibitions) {
+            session.persist(pe);
+            batch.add(pe);
+            if (batch.size() == batchSize) {
+                // отправить батч и не держать связи в контексте (остальные сущности сессии остаются)
+                session.flush();
+                batch.forEach(session::detach);
+                batch.clear();
+            }
+        }
+    }
+
+    // настроенный размер батча; без настройки - по одной вставке
+    private static int jdbcBatchSize() {
+        Object value = HibernateUtil.getSessionFactory().getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        return value != null ? Math.max(1, Integer.parseInt(value.toString().trim())) : 1;
+    }
+
     // Удалить связь картины и выставки
     public void delete(PaintingExhibition paintingExhibition) {
         Transaction tx = null;
@@ -68,6 +93,15 @@ public class PaintingExhibitionRepository {
         }
     }
 
+    // Интервалы всех связей: id картины, id выставки, начало, конец (для индекса занятости)
+    public List<Object[]> findIntervals() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                "SELECT pe.painting.id, pe.exhibition.id, pe.startDate, pe.endDate FROM PaintingExhibition pe", Object[].class)
+                .list();
+        }
+    }
+
     // Удалить все связи для выставки
     public void deleteByExhibitionId(Integer exhibitionId) {
         Transaction tx = null;
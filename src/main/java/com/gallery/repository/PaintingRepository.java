@@ -1,30 +1,111 @@
 package com.gallery.repository;
 
 import com.gallery.config.HibernateUtil;
+import com.gallery.dto.PaintingCard;
 import com.gallery.entity.Painting;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PaintingRepository {
 
-    // Сохранить или обновить картину
-    public void save(Painting painting) {
+    // поля для поиска и сортировки страниц
+    private static final List<String> SEARCH = List.of(
+        PageQueries.like("p.title"), PageQueries.like("p.genre"), PageQueries.like("a.fullName"),
+        PageQueries.like("str(p.year)"), PageQueries.like("p.description"));
+    private static final Map<String, String> SORT = Map.of("id", "p.id", "title", "p.title");
+
+    // полнотекстовый поиск по картине и ее автору (tsvector + GIN)
+    private static final FullTextQueries.Target FTS = new FullTextQueries.Target("p.id",
+        "paintings p LEFT JOIN artists a ON a.id = p.artist_id",
+        "p.search_vector @@ q.query OR a.search_vector @@ q.query",
+        "p.search_vector || coalesce(a.search_vector, ''::tsvector)",
+        List.of("p.title", "a.full_name"),
+        Map.of("title", "p.title"));
+
+    // Сохранить или обновить картину (возвращает сохраненную копию, null при ошибке)
+    public Painting save(Painting painting) {
         Transaction tx = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
-            session.merge(painting);
+            StatsRollups.PaintingKeys before = StatsRollups.paintingKeys(session, painting.getId());
+            Painting saved = session.merge(painting);
+            StatsRollups.paintingChanged(session, before, StatsRollups.PaintingKeys.of(painting));
             tx.commit();
+            return saved;
         } catch (Exception e) {
             if (tx != null) tx.rollback();
             e.printStackTrace();
+            return null;
         }
     }
 
-    // Получить все картины
+    // Получить все картины (с художниками)
     public List<Painting> findAll() {
+        return findAllWithArtist();
+    }
+
+    // Картины вместе с художниками одним запросом
+    public List<Painting> findAllWithArtist() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("FROM Painting p ORDER BY p.id", Painting.class)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(Painting.GRAPH_WITH_ARTIST))
+                .list();
+        }
+    }
+
+    // Карточки картин: только нужные колонки, без описания
+    public List<PaintingCard> findAllCards() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                "SELECT new com.gallery.dto.PaintingCard(p.id, p.title, p.genre, p.year, p.image, a.id, a.fullName) " +
+                    "FROM Painting p LEFT JOIN p.artist a ORDER BY p.id", PaintingCard.class).list();
+        }
+    }
+
+    // Описания картин по id (догружаются по требованию)
+    public Map<Long, String> findDescriptions(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>();
+        if (ids.isEmpty()) return result;
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.createQuery("SELECT p.id, p.description FROM Painting p WHERE p.id IN :ids", Object[].class)
+                .setParameterList("ids", ids)
+                .list()
+                .forEach(row -> result.put((Long) row[0], (String) row[1]));
+        }
+        return result;
+    }
+
+    // Страница картин с художниками (поиск и сортировка на стороне БД)
+    public List<Painting> findPage(PageRequest page) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            if (FullTextQueries.tsQuery(page.search()) != null) {
+                List<Long> ids = FullTextQueries.ids(session, FTS, page).stream().map(Number::longValue).toList();
+                if (ids.isEmpty()) return List.of();
+                List<Painting> rows = session.createQuery(
+                        "SELECT p FROM Painting p LEFT JOIN FETCH p.artist WHERE p.id IN :ids", Painting.class)
+                    .setParameterList("ids", ids)
+                    .list();
+                return FullTextQueries.inOrder(rows, ids, Painting::getId);
+            }
+            return PageQueries.page(session, Painting.class, "SELECT p FROM Painting p LEFT JOIN FETCH p.artist a",
+                "p.id", SORT.getOrDefault(page.sortField(), "p.id"), SEARCH, page);
+        }
+    }
+
+    // Количество картин по запросу
+    public long count(String search) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Painting", Painting.class).list();
+            if (FullTextQueries.tsQuery(search) != null) {
+                return FullTextQueries.count(session, FTS, search);
+            }
+            return PageQueries.count(session, "FROM Painting p LEFT JOIN p.artist a", SEARCH, search);
         }
     }
 
@@ -33,7 +114,9 @@ public class PaintingRepository {
         Transaction tx = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
+            StatsRollups.PaintingKeys before = StatsRollups.paintingKeys(session, painting.getId());
             session.delete(painting); // Удалить картину из базы
+            StatsRollups.paintingChanged(session, before, null);
             tx.commit();
         } catch (Exception e) {
             if (tx != null) tx.rollback();
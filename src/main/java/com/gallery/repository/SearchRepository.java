@@ -0,0 +1,97 @@
+package com.gallery.repository;
+
+import com.gallery.config.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// тексты сущностей для поискового индекса: все строки или только указанные id
+public class SearchRepository {
+
+    // название, жанр, год, автор и описание картины
+    public Map<Long, List<String>> findPaintingTexts(Collection<Long> ids) {
+        return texts("SELECT p.id, p.title, p.genre, str(p.year), a.fullName, p.description " +
+            "FROM Painting p LEFT JOIN p.artist a", "p.id", ids);
+    }
+
+    // имя, даты и биография автора
+    public Map<Integer, List<String>> findArtistTexts(Collection<Integer> ids) {
+        return texts("SELECT a.id, a.fullName, str(a.birthDate), str(a.deathDate), a.biography FROM Artist a",
+            "a.id", ids);
+    }
+
+    // выставка и картины на ней (название, жанр, автор)
+    public Map<Integer, List<String>> findExhibitionTexts(Collection<Integer> ids) {
+        Map<Integer, List<String>> result = texts(
+            "SELECT e.id, e.name, e.location, str(e.startDate), str(e.endDate), e.description FROM Exhibition e",
+            "e.id", ids);
+        if (result.isEmpty()) return result;
+
+        Map<Integer, List<String>> paintings = texts(
+            "SELECT pe.exhibition.id, p.title, p.genre, a.fullName " +
+                "FROM PaintingExhibition pe JOIN pe.painting p LEFT JOIN p.artist a", "pe.exhibition.id", ids);
+        paintings.forEach((id, texts) -> {
+            List<String> exhibition = result.get(id);
+            if (exhibition != null) exhibition.addAll(texts);
+        });
+        return result;
+    }
+
+    // логин и роль пользователя
+    public Map<Integer, List<String>> findUserTexts(Collection<Integer> ids) {
+        return texts("SELECT u.id, u.username, u.role FROM User u", "u.id", ids);
+    }
+
+    // картины автора
+    public List<Long> findPaintingIdsByArtist(Integer artistId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT p.id FROM Painting p WHERE p.artist.id = :artistId", Long.class)
+                .setParameter("artistId", artistId)
+                .list();
+        }
+    }
+
+    // выставки, на которых есть указанные картины
+    public List<Integer> findExhibitionIdsByPaintings(Collection<Long> paintingIds) {
+        if (paintingIds.isEmpty()) return List.of();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "SELECT DISTINCT pe.exhibition.id FROM PaintingExhibition pe WHERE pe.painting.id IN :ids", Integer.class)
+                .setParameterList("ids", paintingIds)
+                .list();
+        }
+    }
+
+    // id всех картин (после каскадного удаления)
+    public List<Long> findPaintingIds() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT p.id FROM Painting p", Long.class).list();
+        }
+    }
+
+    // первая колонка - id, остальные - тексты; строки с одним id объединяются
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, List<String>> texts(String hql, String idPath, Collection<K> ids) {
+        Map<K, List<String>> result = new HashMap<>();
+        if (ids != null && ids.isEmpty()) return result;
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(
+                ids != null ? hql + " WHERE " + idPath + " IN :ids" : hql, Object[].class);
+            if (ids != null) query.setParameterList("ids", ids);
+
+            for (Object[] row : query.list()) {
+                List<String> texts = result.computeIfAbsent((K) row[0], k -> new ArrayList<>());
+                for (int i = 1; i < row.length; i++) {
+                    if (row[i] != null) texts.add(row[i].toString());
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.gallery.repository;
+
+import com.gallery.config.HibernateUtil;
+import com.gallery.dto.CountByKey;
+import com.gallery.dto.StatsSummary;
+import org.hibernate.Session;
+
+import java.util.List;
+
+// статистика из сводных таблиц (StatsRollups): чтение O(количество групп), а не всего каталога
+public class StatsRepository {
+
+    // количества и средние значения одним запросом (возраст картин - от текущего года БД)
+    public StatsSummary findSummary() {
+        StatsRollups.ensureReady();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Object[] row = session.createNativeQuery(
+                "SELECT " +
+                    "coalesce(sum(count) FILTER (WHERE kind = 'total' AND bucket = 'paintings'), 0), " +
+                    "coalesce(sum(count) FILTER (WHERE kind = 'total' AND bucket = 'artists'), 0), " +
+                    "coalesce(sum(count) FILTER (WHERE kind = 'total' AND bucket = 'exhibitions'), 0), " +
+                    "coalesce(sum(count) FILTER (WHERE kind = 'total' AND bucket = 'users'), 0), " +
+                    "extract(YEAR FROM current_date) - " +
+                    "sum(total) FILTER (WHERE kind = 'age') / nullif(sum(count) FILTER (WHERE kind = 'age'), 0), " +
+                    "sum(total) FILTER (WHERE kind = 'duration') / nullif(sum(count) FILTER (WHERE kind = 'duration'), 0) " +
+                    "FROM stats_rollup WHERE kind IN ('total', 'age', 'duration')", Object[].class)
+                .getSingleResult();
+
+            return new StatsSummary(
+                toLong(row[0]), toLong(row[1]), toLong(row[2]), toLong(row[3]),
+                toDouble(row[4]), toDouble(row[5]));
+        }
+    }
+
+    // количество картин по годам
+    public List<CountByKey> countPaintingsByYear() {
+        return countBy("SELECT bucket, count FROM stats_rollup WHERE kind = 'year' ORDER BY bucket::int");
+    }
+
+    // количество картин по авторам
+    public List<CountByKey> countPaintingsByArtist() {
+        return countBy("SELECT a.full_name, r.count FROM stats_rollup r JOIN artists a ON a.id = r.bucket::int " +
+            "WHERE r.kind = 'artist' ORDER BY a.full_name");
+    }
+
+    // количество картин по жанрам
+    public List<CountByKey> countPaintingsByGenre() {
+        return countBy("SELECT bucket, count FROM stats_rollup WHERE kind = 'genre' ORDER BY bucket");
+    }
+
+    // полный пересчет сводных таблиц
+    public void rebuild() {
+        StatsRollups.rebuild();
+    }
+
+    private List<CountByKey> countBy(String sql) {
+        StatsRollups.ensureReady();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createNativeQuery(sql, Object[].class).list().stream()
+                .map(row -> new CountByKey((String) row[0], toLong(row[1])))
+                .toList();
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private static Double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : null;
+    }
+}
@@ -0,0 +1,230 @@
+package com.gallery.repository;
+
+import com.gallery.config.HibernateUtil;
+import com.gallery.entity.Exhibition;
+import com.gallery.entity.Painting;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// сводные таблицы статистики: счетчики по группам, которые обновляются в тех же транзакциях,
+// что и изменения картин, авторов, выставок и пользователей.
+// stats_rollup(kind, bucket, count, total):
+//   total/<таблица>      - количество строк
+//   year/<год>, genre/<жанр>, artist/<id автора> - количество картин
+//   age/paintings        - картины с годом, total = сумма годов
+//   duration/exhibitions - выставки с датами, total = сумма длительностей в днях
+public final class StatsRollups {
+    private static final Logger log = LoggerFactory.getLogger(StatsRollups.class);
+
+    public static final String TOTAL = "total";
+    public static final String YEAR = "year";
+    public static final String GENRE = "genre";
+    public static final String ARTIST = "artist";
+    public static final String AGE = "age";
+    public static final String DURATION = "duration";
+
+    private static volatile boolean ready;
+
+    // значения картины, от которых зависят счетчики
+    public record PaintingKeys(Integer year, String genre, Integer artistId) {
+        public static PaintingKeys of(Painting painting) {
+            return new PaintingKeys(painting.getYear(), painting.getGenre(),
+                painting.getArtist() != null ? painting.getArtist().getId() : null);
+        }
+    }
+
+    // даты выставки
+    public record ExhibitionKeys(LocalDate start, LocalDate end) {
+        public static ExhibitionKeys of(Exhibition exhibition) {
+            return new ExhibitionKeys(exhibition.getStartDate(), exhibition.getEndDate());
+        }
+
+        Long days() {
+            return start != null && end != null ? ChronoUnit.DAYS.between(start, end) : null;
+        }
+    }
+
+    private StatsRollups() {}
+
+    // заполнить таблицу при первом обращении (таблицу создает миграция V2__stats_rollup.sql)
+    public static void ensureReady() {
+        if (ready) return;
+        synchronized (StatsRollups.class) {
+            if (ready) return;
+            boolean empty;
+            try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+                Transaction tx = session.beginTransaction();
+                empty = session.createNativeQuery("SELECT count(*) FROM stats_rollup", Long.class).getSingleResult() == 0;
+                tx.commit();
+            }
+            if (empty) {
+                rebuild();
+            }
+            ready = true;
+        }
+    }
+
+    // полный пересчет из исходных таблиц (восстановление после ручных правок БД)
+    public static void rebuild() {
+        long start = System.currentTimeMillis();
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            // изменения из других транзакций применятся после пересчета
+            mutation(session, "LOCK TABLE stats_rollup IN EXCLUSIVE MODE").executeUpdate();
+            mutation(session, "DELETE FROM stats_rollup").executeUpdate();
+
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count) " +
+                    "SELECT 'total', 'paintings', count(*) FROM paintings " +
+                    "UNION ALL SELECT 'total', 'artists', count(*) FROM artists " +
+                    "UNION ALL SELECT 'total', 'exhibitions', count(*) FROM exhibitions " +
+                    "UNION ALL SELECT 'total', 'users', count(*) FROM users").executeUpdate();
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count) " +
+                    "SELECT 'year', year::text, count(*) FROM paintings WHERE year IS NOT NULL GROUP BY year").executeUpdate();
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count) " +
+                    "SELECT 'genre', genre, count(*) FROM paintings WHERE genre IS NOT NULL GROUP BY genre").executeUpdate();
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count) " +
+                    "SELECT 'artist', artist_id::text, count(*) FROM paintings WHERE artist_id IS NOT NULL GROUP BY artist_id").executeUpdate();
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count, total) " +
+                    "SELECT 'age', 'paintings', count(*), coalesce(sum(year), 0) FROM paintings WHERE year IS NOT NULL").executeUpdate();
+            mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count, total) " +
+                    "SELECT 'duration', 'exhibitions', count(*), coalesce(sum(end_date - start_date), 0) FROM exhibitions " +
+                    "WHERE start_date IS NOT NULL AND end_date IS NOT NULL").executeUpdate();
+
+            tx.commit();
+            log.info("Сводные таблицы статистики пересчитаны за {} мс", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) tx.rollback();
+            throw new RuntimeException("Ошибка при пересчете статистики", e);
+        }
+    }
+
+    // текущие значения картины в БД (до изменения), null для новой
+    public static PaintingKeys paintingKeys(Session session, Long paintingId) {
+        if (paintingId == null) return null;
+        return session.createQuery("SELECT p.year, p.genre, p.artist.id FROM Painting p WHERE p.id = :id", Object[].class)
+            .setParameter("id", paintingId)
+            .list()
+            .stream()
+            .map(StatsRollups::toKeys)
+            .findFirst()
+            .orElse(null);
+    }
+
+    // изменение картины: before == null - добавление, after == null - удаление
+    public static void paintingChanged(Session session, PaintingKeys before, PaintingKeys after) {
+        if (Objects.equals(before, after)) return;
+        ensureReady();
+
+        if (before == null) add(session, TOTAL, "paintings", 1, 0);
+        if (after == null) add(session, TOTAL, "paintings", -1, 0);
+
+        if (before != null) {
+            if (before.year() != null) {
+                add(session, YEAR, before.year().toString(), -1, 0);
+                add(session, AGE, "paintings", -1, -before.year());
+            }
+            if (before.genre() != null) add(session, GENRE, before.genre(), -1, 0);
+            if (before.artistId() != null) add(session, ARTIST, before.artistId().toString(), -1, 0);
+        }
+        if (after != null) {
+            if (after.year() != null) {
+                add(session, YEAR, after.year().toString(), 1, 0);
+                add(session, AGE, "paintings", 1, after.year());
+            }
+            if (after.genre() != null) add(session, GENRE, after.genre(), 1, 0);
+            if (after.artistId() != null) add(session, ARTIST, after.artistId().toString(), 1, 0);
+        }
+    }
+
+    // удаление автора: его картины удаляются каскадом в БД
+    public static void artistDeleted(Session session, Integer artistId) {
+        ensureReady();
+        add(session, TOTAL, "artists", -1, 0);
+        session.createQuery("SELECT p.year, p.genre, p.artist.id FROM Painting p WHERE p.artist.id = :id", Object[].class)
+            .setParameter("id", artistId)
+            .list()
+            .forEach(row -> paintingChanged(session, toKeys(row), null));
+    }
+
+    // текущие даты выставки в БД (до изменения), null для новой
+    public static ExhibitionKeys exhibitionKeys(Session session, Integer exhibitionId) {
+        if (exhibitionId == null) return null;
+        return session.createQuery("SELECT e.startDate, e.endDate FROM Exhibition e WHERE e.id = :id", Object[].class)
+            .setParameter("id", exhibitionId)
+            .list()
+            .stream()
+            .map(row -> new ExhibitionKeys((LocalDate) row[0], (LocalDate) row[1]))
+            .findFirst()
+            .orElse(null);
+    }
+
+    // изменение выставки: before == null - добавление, after == null - удаление
+    public static void exhibitionChanged(Session session, ExhibitionKeys before, ExhibitionKeys after) {
+        if (Objects.equals(before, after)) return;
+        ensureReady();
+
+        if (before == null) add(session, TOTAL, "exhibitions", 1, 0);
+        if (after == null) add(session, TOTAL, "exhibitions", -1, 0);
+
+        if (before != null && before.days() != null) {
+            add(session, DURATION, "exhibitions", -1, -before.days());
+        }
+        if (after != null && after.days() != null) {
+            add(session, DURATION, "exhibitions", 1, after.days());
+        }
+    }
+
+    // изменение количества строк таблицы (авторы, пользователи)
+    public static void countChanged(Session session, String table, int delta) {
+        ensureReady();
+        add(session, TOTAL, table, delta, 0);
+    }
+
+    // изменение stats_rollup с query space таблицы: без него Hibernate считает, что native запрос
+    // мог изменить что угодно, и очищает все регионы кэша второго уровня при каждой записи.
+    // createNativeMutationQuery возвращает NativeQuery (NativeQueryImpl), в MutationQuery нет addSynchronizedQuerySpace
+    private static MutationQuery mutation(Session session, String sql) {
+        return ((NativeQuery<?>) session.createNativeMutationQuery(sql)).addSynchronizedQuerySpace("stats_rollup");
+    }
+
+    private static PaintingKeys toKeys(Object[] row) {
+        return new PaintingKeys((Integer) row[0], (String) row[1], (Integer) row[2]);
+    }
+
+    // инкремент счетчика, пустые группы удаляются
+    private static void add(Session session, String kind, String bucket, long count, long total) {
+        mutation(session,
+                "INSERT INTO stats_rollup (kind, bucket, count, total) VALUES (:kind, :bucket, :count, :total) " +
+                    "ON CONFLICT (kind, bucket) DO UPDATE " +
+                    "SET count = stats_rollup.count + EXCLUDED.count, total = stats_rollup.total + EXCLUDED.total")
+            .setParameter("kind", kind)
+            .setParameter("bucket", bucket)
+            .setParameter("count", count)
+            .setParameter("total", total)
+            .executeUpdate();
+
+        if (count < 0 && !TOTAL.equals(kind)) {
+            mutation(session,
+                    "DELETE FROM stats_rollup WHERE kind = :kind AND bucket = :bucket AND count <= 0")
+                .setParameter("kind", kind)
+                .setParameter("bucket", bucket)
+                .executeUpdate();
+        }
+    }
+}
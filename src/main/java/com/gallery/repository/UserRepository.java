@@ -23,6 +23,7 @@ public class UserRepository {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
             session.persist(user);
+            StatsRollups.countChanged(session, "users", 1);
             tx.commit();
         } catch (Exception ex) {
             if (tx != null) tx.rollback();
@@ -53,6 +54,7 @@ public class UserRepository {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             tx = session.beginTransaction();
             session.remove(session.contains(user) ? user : session.merge(user));
+            StatsRollups.countChanged(session, "users", -1);
             tx.commit();
         } catch (Exception ex) {
             if (tx != null) tx.rollback();
@@ -1,26 +1,37 @@
 package com.gallery.service;
 
+import com.gallery.dto.ArtistCard;
 import com.gallery.entity.Artist;
 import com.gallery.repository.ArtistRepository;
+import com.gallery.repository.PageRequest;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class ArtistService {
 
     private ArtistRepository artistRepository = new ArtistRepository();
+    private final SearchService searchService = SearchService.getInstance();
 
     // Добавить нового автора
     public void addArtist(Artist artist) {
-        artistRepository.save(artist);
+        searchService.artistSaved(artistRepository.save(artist).getId());
+        DataVersion.changed();
     }
 
     // Обновить информацию об авторе
     public void updateArtist(Artist artist) {
         artistRepository.save(artist);  // Hibernate обновит запись
+        searchService.artistSaved(artist.getId());
+        DataVersion.changed();
     }
 
     // Удалить автора
     public void deleteArtist(Artist artist) {
         artistRepository.delete(artist);
+        AvailabilityIndex.getInstance().invalidate(); // картины и их связи удалены каскадом
+        searchService.artistDeleted(artist.getId());
+        DataVersion.changed();
     }
 
     // Получить всех авторов
@@ -28,8 +39,27 @@ public class ArtistService {
         return artistRepository.findAll();
     }
 
+    // Карточки авторов без биографий
+    public List<ArtistCard> getAllArtistCards() {
+        return artistRepository.findAllCards();
+    }
+
+    // Биографии выбранных авторов
+    public Map<Integer, String> getBiographies(Collection<Integer> ids) {
+        return artistRepository.findBiographies(ids);
+    }
+
     // Найти автора по ID
     public Artist getArtistById(int id) {
         return artistRepository.findById(id);
     }
+
+    // страница для таблицы (поиск и сортировка на стороне БД)
+    public List<Artist> getArtistsPage(PageRequest page) {
+        return artistRepository.findPage(page);
+    }
+
+    public long countArtists(String search) {
+        return artistRepository.count(search);
+    }
 }
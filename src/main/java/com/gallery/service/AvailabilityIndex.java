@@ -0,0 +1,172 @@
+package com.gallery.service;
+
+import com.gallery.repository.PaintingExhibitionRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// индекс занятости картин в памяти: интервалы участия в выставках.
+// Для одной картины интервалы не пересекаются (ограничение no_overlap в БД), поэтому хранятся
+// отсортированными и ищутся бинарным поиском. Для запроса "какие картины заняты" все интервалы
+// лежат в неявном дереве интервалов (массив по началу + максимум конца в поддереве).
+// Индекс перечитывается после записи и по истечении времени жизни (изменения из других клиентов),
+// окончательную проверку при сохранении выполняет ограничение в БД.
+public class AvailabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private static final long MAX_AGE_MS = 30_000;
+
+    private static final AvailabilityIndex INSTANCE = new AvailabilityIndex();
+
+    private final PaintingExhibitionRepository paintingExhibitionRepository = new PaintingExhibitionRepository();
+
+    private volatile Snapshot snapshot;
+    // номер изменения: снимок, прочитанный до записи, не сохраняется
+    private final AtomicLong version = new AtomicLong();
+
+    private AvailabilityIndex() {
+    }
+
+    public static AvailabilityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // свободна ли картина в [start, end] (даты включительно)
+    public boolean isBusy(Long paintingId, LocalDate start, LocalDate end, Integer excludeExhibitionId) {
+        return current().isBusy(paintingId, start.toEpochDay(), end.toEpochDay(), excludeExhibitionId);
+    }
+
+    // id картин, занятых в [start, end]
+    public Set<Long> findBusy(LocalDate start, LocalDate end, Integer excludeExhibitionId) {
+        return current().findBusy(start.toEpochDay(), end.toEpochDay(), excludeExhibitionId);
+    }
+
+    // сбросить после изменения связей картин и выставок
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.loadedAt < MAX_AGE_MS) return s;
+
+        synchronized (this) {
+            s = snapshot;
+            if (s == null || System.currentTimeMillis() - s.loadedAt >= MAX_AGE_MS) {
+                long start = System.currentTimeMillis();
+                long loadedVersion = version.get();
+                s = new Snapshot(paintingExhibitionRepository.findIntervals());
+                if (version.get() == loadedVersion) {
+                    snapshot = s;
+                }
+                log.debug("Индекс занятости картин: интервалов {}, построен за {} мс",
+                    s.starts.length, System.currentTimeMillis() - start);
+            }
+            return s;
+        }
+    }
+
+    private record Interval(long paintingId, int exhibitionId, long start, long end) {}
+
+    // неизменяемый снимок индекса
+    private static final class Snapshot {
+        final long loadedAt = System.currentTimeMillis();
+
+        // все интервалы, отсортированные по началу, и максимум конца в поддереве
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+        final long[] paintingIds;
+        final int[] exhibitionIds;
+
+        // интервалы каждой картины, отсортированные по началу (и по концу - они не пересекаются)
+        final Map<Long, Interval[]> byPainting = new HashMap<>();
+
+        Snapshot(List<Object[]> rows) {
+            List<Interval> intervals = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                intervals.add(new Interval((Long) row[0], (Integer) row[1],
+                    ((LocalDate) row[2]).toEpochDay(), ((LocalDate) row[3]).toEpochDay()));
+            }
+            intervals.sort(Comparator.comparingLong(Interval::start));
+
+            int n = intervals.size();
+            starts = new long[n];
+            ends = new long[n];
+            maxEnds = new long[n];
+            paintingIds = new long[n];
+            exhibitionIds = new int[n];
+            Map<Long, List<Interval>> grouped = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Interval interval = intervals.get(i);
+                starts[i] = interval.start();
+                ends[i] = interval.end();
+                paintingIds[i] = interval.paintingId();
+                exhibitionIds[i] = interval.exhibitionId();
+                grouped.computeIfAbsent(interval.paintingId(), k -> new ArrayList<>()).add(interval);
+            }
+            grouped.forEach((id, list) -> byPainting.put(id, list.toArray(Interval[]::new)));
+            buildMaxEnds(0, n);
+        }
+
+        // корень поддерева [lo, hi) - середина
+        private long buildMaxEnds(int lo, int hi) {
+            if (lo >= hi) return Long.MIN_VALUE;
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+            maxEnds[mid] = max;
+            return max;
+        }
+
+        boolean isBusy(Long paintingId, long start, long end, Integer excludeExhibitionId) {
+            Interval[] intervals = byPainting.get(paintingId);
+            if (intervals == null) return false;
+
+            // первый интервал, который заканчивается не раньше start
+            int lo = 0;
+            int hi = intervals.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (intervals[mid].end() < start) lo = mid + 1;
+                else hi = mid;
+            }
+            // пересекаются подряд идущие интервалы, пока начало не позже end
+            for (int i = lo; i < intervals.length && intervals[i].start() <= end; i++) {
+                if (!Objects.equals(intervals[i].exhibitionId(), excludeExhibitionId)) return true;
+            }
+            return false;
+        }
+
+        Set<Long> findBusy(long start, long end, Integer excludeExhibitionId) {
+            Set<Long> result = new HashSet<>();
+            collect(0, starts.length, start, end, excludeExhibitionId, result);
+            return result;
+        }
+
+        private void collect(int lo, int hi, long start, long end, Integer excludeExhibitionId, Set<Long> result) {
+            if (lo >= hi) return;
+            int mid = (lo + hi) >>> 1;
+            // в поддереве нет интервалов, которые заканчиваются не раньше start
+            if (maxEnds[mid] < start) return;
+
+            collect(lo, mid, start, end, excludeExhibitionId, result);
+            if (starts[mid] > end) return; // правее начала еще позже
+            if (ends[mid] >= start && !Objects.equals(exhibitionIds[mid], excludeExhibitionId)) {
+                result.add(paintingIds[mid]);
+            }
+            collect(mid + 1, hi, start, end, excludeExhibitionId, result);
+        }
+    }
+}
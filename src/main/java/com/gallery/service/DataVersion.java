@@ -0,0 +1,21 @@
+package com.gallery.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// номер версии данных: увеличивается при каждом изменении через сервисы.
+// Закэшированные экраны сравнивают его с версией, с которой были показаны, и обновляются только при отличии.
+public final class DataVersion {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private DataVersion() {
+    }
+
+    public static long current() {
+        return VERSION.get();
+    }
+
+    static void changed() {
+        VERSION.incrementAndGet();
+    }
+}
@@ -1,31 +1,141 @@
 package com.gallery.service;
 
 import com.gallery.entity.Exhibition;
+import com.gallery.entity.Painting;
+import com.gallery.entity.PaintingExhibition;
 import com.gallery.repository.ExhibitionRepository;
+import com.gallery.repository.PageRequest;
+import com.gallery.repository.PaintingExhibitionRepository;
+import com.gallery.repository.StatsRollups;
 import com.gallery.config.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExhibitionService {
+    private static final Logger log = LoggerFactory.getLogger(ExhibitionService.class);
 
     private ExhibitionRepository exhibitionRepository = new ExhibitionRepository();
+    private final PaintingExhibitionRepository paintingExhibitionRepository = new PaintingExhibitionRepository();
+    private final SearchService searchService = SearchService.getInstance();
 
     // сохранить или обновить выставку
     public Exhibition save(Exhibition exhibition) {
         try (var session = HibernateUtil.getSessionFactory().openSession()) {
             var tx = session.beginTransaction();
+            var before = StatsRollups.exhibitionKeys(session, exhibition.getId());
 
             // saveOrUpdate, чтобы Hibernate сам решал insert/update
             session.saveOrUpdate(exhibition);
+            StatsRollups.exhibitionChanged(session, before, StatsRollups.ExhibitionKeys.of(exhibition));
             tx.commit();
         }
+        searchService.exhibitionSaved(exhibition.getId());
+        DataVersion.changed();
 
         // объект exhibition уже имеет ID, можно безопасно создавать связи PaintingExhibition
         return exhibition;
     }
 
+    // сохранить выставку вместе с набором картин: применяется только разница, в одной транзакции
+    public Exhibition saveWithPaintings(Exhibition exhibition, Set<Long> paintingIds) {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+
+            Exhibition target;
+            Set<Long> current = new HashSet<>();
+            boolean datesChanged = false;
+            StatsRollups.ExhibitionKeys before = null;
+
+            if (exhibition.getId() == null) {
+                session.persist(exhibition);
+                target = exhibition;
+            } else {
+                target = session.get(Exhibition.class, exhibition.getId());
+                if (target == null) {
+                    throw new IllegalStateException("Выставка не найдена: " + exhibition.getId());
+                }
+                before = StatsRollups.ExhibitionKeys.of(target);
+                datesChanged = !Objects.equals(target.getStartDate(), exhibition.getStartDate())
+                    || !Objects.equals(target.getEndDate(), exhibition.getEndDate());
+
+                target.setName(exhibition.getName());
+                target.setLocation(exhibition.getLocation());
+                target.setStartDate(exhibition.getStartDate());
+                target.setEndDate(exhibition.getEndDate());
+                target.setDescription(exhibition.getDescription());
+
+                current.addAll(session.createQuery(
+                        "SELECT pe.painting.id FROM PaintingExhibition pe WHERE pe.exhibition.id = :exId", Long.class)
+                    .setParameter("exId", target.getId())
+                    .list());
+            }
+
+            StatsRollups.exhibitionChanged(session, before, StatsRollups.ExhibitionKeys.of(target));
+
+            Set<Long> removed = new HashSet<>(current);
+            removed.removeAll(paintingIds);
+            Set<Long> added = new HashSet<>(paintingIds);
+            added.removeAll(current);
+
+            // сначала удаление, чтобы освободить даты для ограничения no_overlap
+            if (!removed.isEmpty()) {
+                session.createMutationQuery(
+                        "DELETE FROM PaintingExhibition pe WHERE pe.exhibition.id = :exId AND pe.painting.id IN :ids")
+                    .setParameter("exId", target.getId())
+                    .setParameterList("ids", removed)
+                    .executeUpdate();
+            }
+
+            // оставшиеся связи получают новые даты выставки
+            if (datesChanged && current.size() > removed.size()) {
+                session.createMutationQuery(
+                        "UPDATE PaintingExhibition pe SET pe.startDate = :start, pe.endDate = :end WHERE pe.exhibition.id = :exId")
+                    .setParameter("start", target.getStartDate())
+                    .setParameter("end", target.getEndDate())
+                    .setParameter("exId", target.getId())
+                    .executeUpdate();
+            }
+
+            // новые связи - JDBC батчами в этой же транзакции
+            List<PaintingExhibition> links = new ArrayList<>(added.size());
+            for (Long paintingId : added) {
+                PaintingExhibition pe = new PaintingExhibition();
+                pe.setPainting(session.getReference(Painting.class, paintingId));
+                pe.setExhibition(target);
+                pe.setStartDate(target.getStartDate());
+                pe.setEndDate(target.getEndDate());
+                links.add(pe);
+            }
+            paintingExhibitionRepository.persistAll(session, links);
+
+            tx.commit();
+            AvailabilityIndex.getInstance().invalidate();
+            searchService.exhibitionSaved(target.getId());
+            DataVersion.changed();
+            log.debug("Выставка {}: добавлено картин {}, удалено {}", target.getId(), added.size(), removed.size());
+            return target;
+        } catch (Exception e) {
+            if (tx != null && tx.isActive()) tx.rollback();
+            throw new RuntimeException("Ошибка при сохранении выставки", e);
+        }
+    }
+
     // Удалить выставку
     public void deleteExhibition(Exhibition exhibition) {
         exhibitionRepository.delete(exhibition);
+        AvailabilityIndex.getInstance().invalidate(); // связи удалены каскадом
+        searchService.exhibitionDeleted(exhibition.getId());
+        DataVersion.changed();
     }
 
     // Получить все выставки
@@ -35,7 +145,8 @@ public class ExhibitionService {
             return session.createQuery(
                 "SELECT DISTINCT e FROM Exhibition e " +
                     "LEFT JOIN FETCH e.paintingExhibitions pe " +
-                    "LEFT JOIN FETCH pe.painting p",
+                    "LEFT JOIN FETCH pe.painting p " +
+                    "LEFT JOIN FETCH p.artist",
                 Exhibition.class
             ).getResultList();
         }
@@ -45,4 +156,13 @@ public class ExhibitionService {
     public Exhibition getExhibitionById(int id) {
         return exhibitionRepository.findById(id);
     }
+
+    // страница для таблицы (поиск и сортировка на стороне БД)
+    public List<Exhibition> getExhibitionsPage(PageRequest page) {
+        return exhibitionRepository.findPage(page);
+    }
+
+    public long countExhibitions(String search) {
+        return exhibitionRepository.count(search);
+    }
 }
@@ -0,0 +1,210 @@
+package com.gallery.service;
+
+import com.gallery.util.FxAsync;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.stage.Screen;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// загрузка изображений в фоне с уменьшением до нужного размера и общим LRU кэшем.
+// Используется только из FX потока (как и сами Image/ImageView).
+public class ImageService {
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    public static final String NO_IMAGE = "/images/no_image.png";
+
+    private static final long DEFAULT_MAX_BYTES = 96L * 1024 * 1024;
+    private static final String VIEW_KEY = ImageService.class.getName() + ".pending";
+
+    private static final ImageService INSTANCE = new ImageService(DEFAULT_MAX_BYTES);
+
+    // ключ кэша: источник, его версия (время изменения файла) и размер декодирования
+    private record Key(String url, long version, int width, int height) {}
+
+    private final long maxBytes;
+    private long totalBytes;
+    private final LinkedHashMap<Key, Image> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, Long> weights = new LinkedHashMap<>();
+    // изображения, для которых идет поиск источника, и ожидающие их
+    private final Map<Key, List<Consumer<Image>>> pending = new HashMap<>();
+
+    private final ThumbnailService thumbnails = ThumbnailService.getInstance();
+    private Image placeholder;
+
+    ImageService(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static ImageService getInstance() {
+        return INSTANCE;
+    }
+
+    // изображение из ресурсов приложения, уменьшенное до width x height (с учетом масштаба экрана).
+    // Из кэша - сразу, иначе после выбора источника (уменьшенная копия или оригинал) в фоне
+    public void load(String resourcePath, double width, double height, Consumer<Image> onReady) {
+        URL url = resourcePath != null ? getClass().getResource(resourcePath) : null;
+        if (url == null) {
+            log.warn("Ресурс не найден: {}", resourcePath);
+            onReady.accept(getPlaceholder());
+            return;
+        }
+        request(key(url.toExternalForm(), 0, width, height), onReady);
+    }
+
+    // показать изображение в ImageView: заглушка, пока идет поиск копии и декодирование
+    public void loadInto(ImageView view, String resourcePath, double width, double height) {
+        Object token = new Object();
+        view.getProperties().put(VIEW_KEY, token);
+        view.setImage(getPlaceholder());
+        load(resourcePath, width, height, image -> {
+            // ImageView мог быть переиспользован для другого изображения
+            if (view.getProperties().get(VIEW_KEY) == token) show(view, image);
+        });
+    }
+
+    // изображение из файла на диске (замененный файл загружается заново); время изменения читается в фоне
+    public void loadFileInto(ImageView view, Path path, double width, double height) {
+        Object token = new Object();
+        view.getProperties().put(VIEW_KEY, token);
+        view.setImage(getPlaceholder());
+        FxAsync.run(() -> path != null && Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : null, version -> {
+            if (view.getProperties().get(VIEW_KEY) != token) return;
+            if (version == null) {
+                log.warn("Файл изображения не найден: {}", path);
+                return;
+            }
+            request(key(path.toUri().toString(), version, width, height), image -> {
+                if (view.getProperties().get(VIEW_KEY) == token) show(view, image);
+            });
+        }, e -> log.warn("Файл изображения недоступен: {}", path, e));
+    }
+
+    public Image getPlaceholder() {
+        if (placeholder == null) {
+            URL url = getClass().getResource(NO_IMAGE);
+            placeholder = url != null ? new Image(url.toExternalForm(), 300, 300, true, true, false) : null;
+        }
+        return placeholder;
+    }
+
+    // очистить кэш
+    public void clear() {
+        cache.clear();
+        weights.clear();
+        totalBytes = 0;
+    }
+
+    public long getCachedBytes() {
+        return totalBytes;
+    }
+
+    private void show(ImageView view, Image image) {
+        Object token = view.getProperties().get(VIEW_KEY);
+        if (image.getProgress() >= 1.0) {
+            view.setImage(image.isError() ? getPlaceholder() : image);
+            return;
+        }
+
+        view.setImage(getPlaceholder());
+        image.progressProperty().addListener((obs, oldV, newV) -> {
+            if (newV.doubleValue() >= 1.0 && view.getProperties().get(VIEW_KEY) == token) {
+                view.setImage(image.isError() ? getPlaceholder() : image);
+            }
+        });
+    }
+
+    private static Key key(String url, long version, double width, double height) {
+        double scale = outputScale();
+        return new Key(url, version, (int) Math.ceil(width * scale), (int) Math.ceil(height * scale));
+    }
+
+    // в FX потоке только кэш в памяти; поиск уменьшенной копии (файлы, индекс) - в фоне,
+    // одновременные запросы одного изображения ждут один поиск
+    private void request(Key key, Consumer<Image> onReady) {
+        Image cached = cache.get(key);
+        if (cached != null && !cached.isError()) {
+            onReady.accept(cached);
+            return;
+        }
+
+        List<Consumer<Image>> waiting = pending.get(key);
+        if (waiting != null) {
+            waiting.add(onReady);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(onReady);
+        pending.put(key, waiting);
+
+        FxAsync.run(() -> thumbnails.find(key.url(), Math.max(key.width(), key.height())),
+            thumbnail -> decoded(key, thumbnail),
+            e -> {
+                log.warn("Ошибка поиска уменьшенной копии: {}", key.url(), e);
+                decoded(key, null);
+            });
+    }
+
+    // декодирование в фоне (Image с backgroundLoading) из найденного источника
+    private void decoded(Key key, String thumbnail) {
+        String url = key.url();
+        Image image = new Image(thumbnail != null ? thumbnail : url, key.width(), key.height(), true, true, true);
+        put(key, image, (long) key.width() * key.height() * 4);
+
+        image.progressProperty().addListener((obs, oldV, newV) -> {
+            if (newV.doubleValue() < 1.0 || cache.get(key) != image) return;
+            if (image.isError()) {
+                log.warn("Ошибка декодирования изображения: {}", url, image.getException());
+                remove(key);
+            } else {
+                // фактический размер после уменьшения с сохранением пропорций
+                put(key, image, (long) image.getWidth() * (long) image.getHeight() * 4);
+            }
+        });
+
+        List<Consumer<Image>> waiting = pending.remove(key);
+        if (waiting != null) waiting.forEach(callback -> callback.accept(image));
+    }
+
+    private void put(Key key, Image image, long bytes) {
+        remove(key);
+        cache.put(key, image);
+        weights.put(key, bytes);
+        totalBytes += bytes;
+
+        // вытеснение давно не использованных
+        Iterator<Map.Entry<Key, Image>> it = cache.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Key eldest = it.next().getKey();
+            if (eldest.equals(key)) continue;
+            it.remove();
+            totalBytes -= weights.remove(eldest);
+        }
+    }
+
+    private void remove(Key key) {
+        if (cache.remove(key) != null) {
+            totalBytes -= weights.remove(key);
+        }
+    }
+
+    private static double outputScale() {
+        try {
+            return Math.max(1.0, Screen.getPrimary().getOutputScaleX());
+        } catch (Exception e) {
+            return 1.0;
+        }
+    }
+}
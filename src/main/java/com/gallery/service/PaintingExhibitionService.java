@@ -4,29 +4,33 @@ import com.gallery.entity.PaintingExhibition;
 import com.gallery.repository.PaintingExhibitionRepository;
 
 import java.time.LocalDate;
-import java.util.HashSet;
 import java.util.Set;
 
 public class PaintingExhibitionService {
     private final PaintingExhibitionRepository paintingExhibitionRepository = new PaintingExhibitionRepository();
+    private final AvailabilityIndex availabilityIndex = AvailabilityIndex.getInstance();
 
     // добавить связь между картиной и выставкой
     public void addPaintingExhibition(PaintingExhibition paintingExhibition) {
         paintingExhibitionRepository.save(paintingExhibition);
+        availabilityIndex.invalidate();
+        DataVersion.changed();
     }
 
-    // проверка занятости одной картины
+    // проверка занятости одной картины (по индексу в памяти)
     public boolean isPaintingBusy(Long paintingId, LocalDate start, LocalDate end, Integer excludeExhibitionId) {
-        return paintingExhibitionRepository.existsOverlap(paintingId, start, end, excludeExhibitionId);
+        return availabilityIndex.isBusy(paintingId, start, end, excludeExhibitionId);
     }
 
-    // получить set id занятых картин
+    // получить set id занятых картин (по индексу в памяти)
     public Set<Long> findBusyPaintingIdsBetween(LocalDate start, LocalDate end, Integer excludeExhibitionId) {
-        return new HashSet<>(paintingExhibitionRepository.findBusyPaintingIds(start, end, excludeExhibitionId));
+        return availabilityIndex.findBusy(start, end, excludeExhibitionId);
     }
 
     // удалить все связи выставки
     public void deleteByExhibitionId(Integer exhibitionId) {
         paintingExhibitionRepository.deleteByExhibitionId(exhibitionId);
+        availabilityIndex.invalidate();
+        DataVersion.changed();
     }
 }
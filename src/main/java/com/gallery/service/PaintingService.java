@@ -1,22 +1,53 @@
 package com.gallery.service;
 
+import com.gallery.dto.PaintingCard;
 import com.gallery.entity.Painting;
 import com.gallery.repository.PaintingRepository;
+import com.gallery.repository.PageRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class PaintingService {
     private final PaintingRepository paintingRepository = new PaintingRepository();
+    private final SearchService searchService = SearchService.getInstance();
 
     public List<Painting> getAllPaintings() {
         return paintingRepository.findAll();
     }
 
+    // карточки без описаний
+    public List<PaintingCard> getAllPaintingCards() {
+        return paintingRepository.findAllCards();
+    }
+
+    // описания выбранных картин
+    public Map<Long, String> getDescriptions(Collection<Long> ids) {
+        return paintingRepository.findDescriptions(ids);
+    }
+
     public void savePainting(Painting painting) {
-        paintingRepository.save(painting);
+        Painting saved = paintingRepository.save(painting);
+        if (saved != null) {
+            searchService.paintingSaved(saved.getId());
+            DataVersion.changed();
+        }
     }
 
     public void deletePainting(Painting painting) {
         paintingRepository.delete(painting);
+        AvailabilityIndex.getInstance().invalidate(); // связи удалены каскадом
+        searchService.paintingDeleted(painting.getId());
+        DataVersion.changed();
+    }
+
+    // страница для таблицы (поиск и сортировка на стороне БД)
+    public List<Painting> getPaintingsPage(PageRequest page) {
+        return paintingRepository.findPage(page);
+    }
+
+    public long countPaintings(String search) {
+        return paintingRepository.count(search);
     }
 }
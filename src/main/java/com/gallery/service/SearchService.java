@@ -0,0 +1,211 @@
+package com.gallery.service;
+
+import com.gallery.repository.SearchRepository;
+import com.gallery.util.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// общий поисковый индекс каталога в памяти приложения.
+// Индексы строятся при первом обращении (в фоне, вместе с загрузкой списка),
+// после сохранения или удаления обновляются только затронутые элементы.
+public class SearchService {
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final SearchService INSTANCE = new SearchService();
+
+    private final SearchRepository searchRepository = new SearchRepository();
+
+    private final LazyIndex<Long> paintings = new LazyIndex<>("картины", searchRepository::findPaintingTexts);
+    private final LazyIndex<Integer> artists = new LazyIndex<>("авторы", searchRepository::findArtistTexts);
+    private final LazyIndex<Integer> exhibitions = new LazyIndex<>("выставки", searchRepository::findExhibitionTexts);
+    private final LazyIndex<Integer> users = new LazyIndex<>("пользователи", searchRepository::findUserTexts);
+
+    private SearchService() {
+    }
+
+    public static SearchService getInstance() {
+        return INSTANCE;
+    }
+
+    // построить индексы заранее (вызывается вне FX потока)
+    public void preparePaintings() {
+        paintings.get();
+    }
+
+    public void prepareArtists() {
+        artists.get();
+    }
+
+    public void prepareExhibitions() {
+        exhibitions.get();
+    }
+
+    public void prepareUsers() {
+        users.get();
+    }
+
+    // id найденных элементов с весом (по убыванию, опечатки ниже точных);
+    // null - пустой запрос или индекс еще строится (подходят все)
+    public Map<Long, Double> searchPaintings(String query) {
+        return paintings.search(query);
+    }
+
+    public Map<Integer, Double> searchArtists(String query) {
+        return artists.search(query);
+    }
+
+    public Map<Integer, Double> searchExhibitions(String query) {
+        return exhibitions.search(query);
+    }
+
+    public Map<Integer, Double> searchUsers(String query) {
+        return users.search(query);
+    }
+
+    // картина изменена: ее тексты и выставки, где она показана
+    public void paintingSaved(Long id) {
+        if (id == null) return;
+        paintings.update(List.of(id));
+        if (exhibitions.isBuilt()) {
+            exhibitions.update(searchRepository.findExhibitionIdsByPaintings(List.of(id)));
+        }
+    }
+
+    public void paintingDeleted(Long id) {
+        paintings.remove(id);
+        exhibitions.reload(); // связи удалены каскадом
+    }
+
+    // автор изменен: его имя есть в текстах картин и выставок
+    public void artistSaved(Integer id) {
+        if (id == null) return;
+        artists.update(List.of(id));
+        if (paintings.isBuilt() || exhibitions.isBuilt()) {
+            List<Long> paintingIds = searchRepository.findPaintingIdsByArtist(id);
+            paintings.update(paintingIds);
+            if (exhibitions.isBuilt()) {
+                exhibitions.update(searchRepository.findExhibitionIdsByPaintings(paintingIds));
+            }
+        }
+    }
+
+    public void artistDeleted(Integer id) {
+        artists.remove(id);
+        // картины автора удалены каскадом
+        if (paintings.isBuilt()) {
+            paintings.get().retainAll(searchRepository.findPaintingIds());
+        }
+        exhibitions.reload();
+    }
+
+    public void exhibitionSaved(Integer id) {
+        if (id != null) exhibitions.update(List.of(id));
+    }
+
+    public void exhibitionDeleted(Integer id) {
+        exhibitions.remove(id);
+    }
+
+    public void userSaved(Integer id) {
+        if (id != null) users.update(List.of(id));
+    }
+
+    public void userDeleted(Integer id) {
+        users.remove(id);
+    }
+
+    // индекс, который строится при первом обращении
+    private static final class LazyIndex<K> {
+        private final String name;
+        private final Function<Collection<K>, Map<K, List<String>>> loader;
+        private volatile SearchIndex<K> index;
+        // построение, запущенное поиском
+        private final AtomicBoolean building = new AtomicBoolean();
+
+        LazyIndex(String name, Function<Collection<K>, Map<K, List<String>>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        boolean isBuilt() {
+            return index != null;
+        }
+
+        SearchIndex<K> get() {
+            SearchIndex<K> current = index;
+            if (current != null) return current;
+
+            synchronized (this) {
+                if (index == null) {
+                    index = build();
+                }
+                return index;
+            }
+        }
+
+        // поиск вызывается и из FX потока: пока индекса нет, он не строится в вызывающем потоке
+        // (запрос текстов из БД), а запускается в фоне. Экраны повторяют поиск после prepare*
+        Map<K, Double> search(String query) {
+            SearchIndex<K> current = index;
+            if (current != null) return current.search(query);
+
+            if (building.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("search-index").start(() -> {
+                    try {
+                        get();
+                    } catch (RuntimeException e) {
+                        log.warn("Не удалось построить поисковый индекс ({})", name, e);
+                    } finally {
+                        building.set(false);
+                    }
+                });
+            }
+            return null;
+        }
+
+        private SearchIndex<K> build() {
+            long start = System.currentTimeMillis();
+            SearchIndex<K> built = new SearchIndex<>();
+            loader.apply(null).forEach(built::put);
+            log.debug("Поисковый индекс ({}): {} элементов за {} мс",
+                name, built.size(), System.currentTimeMillis() - start);
+            return built;
+        }
+
+        // перечитать тексты указанных элементов (если индекс уже построен)
+        void update(Collection<K> ids) {
+            SearchIndex<K> current = index;
+            if (current == null || ids.isEmpty()) return;
+
+            Map<K, List<String>> texts = loader.apply(ids);
+            for (K id : new ArrayList<>(ids)) {
+                List<String> text = texts.get(id);
+                if (text != null) {
+                    current.put(id, text);
+                } else {
+                    current.remove(id);
+                }
+            }
+        }
+
+        void remove(K id) {
+            SearchIndex<K> current = index;
+            if (current != null && id != null) current.remove(id);
+        }
+
+        // построить заново (если индекс уже используется)
+        synchronized void reload() {
+            if (index != null) {
+                index = build();
+            }
+        }
+    }
+}
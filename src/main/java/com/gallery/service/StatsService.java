@@ -0,0 +1,35 @@
+package com.gallery.service;
+
+import com.gallery.dto.CountByKey;
+import com.gallery.dto.StatsSummary;
+import com.gallery.repository.StatsRepository;
+
+import java.util.List;
+
+public class StatsService {
+
+    private final StatsRepository statsRepository = new StatsRepository();
+
+    // итоговые показатели
+    public StatsSummary getSummary() {
+        return statsRepository.findSummary();
+    }
+
+    // гистограммы по годам, авторам и жанрам
+    public List<CountByKey> getPaintingsByYear() {
+        return statsRepository.countPaintingsByYear();
+    }
+
+    public List<CountByKey> getPaintingsByArtist() {
+        return statsRepository.countPaintingsByArtist();
+    }
+
+    public List<CountByKey> getPaintingsByGenre() {
+        return statsRepository.countPaintingsByGenre();
+    }
+
+    // пересчитать сводные таблицы из исходных данных
+    public void rebuild() {
+        statsRepository.rebuild();
+    }
+}
@@ -0,0 +1,323 @@
+package com.gallery.service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// хранилище уменьшенных копий изображений на диске.
+// Копии лежат в локальном каталоге под SHA-256 содержимого оригинала и создаются
+// при импорте, а если их нет - в фоне при первом показе.
+public class ThumbnailService {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    // каталог хранилища, по умолчанию ~/.gallery/thumbnails
+    public static final String DIR_PROPERTY = "gallery.thumbnails.dir";
+
+    private static final String INDEX_FILE = "index.properties";
+
+    // размеры уровней (по большей стороне, с запасом для HiDPI экранов)
+    public enum Tier {
+        PREVIEW(160),
+        TABLE(200),
+        CARD(600);
+
+        private final int size;
+
+        Tier(int size) {
+            this.size = size;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        // наименьший уровень, которого хватает для показа в size точках
+        public static Tier forSize(double size) {
+            for (Tier tier : values()) {
+                if (tier.size >= size) return tier;
+            }
+            return null;
+        }
+    }
+
+    // известный хэш оригинала и его состояние на момент вычисления
+    private record Entry(long lastModified, long length, String hash) {}
+
+    private static final ThumbnailService INSTANCE = new ThumbnailService(defaultDirectory());
+
+    private final Path directory;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gallery-thumbnails");
+        t.setDaemon(true);
+        return t;
+    });
+
+    ThumbnailService(Path directory) {
+        this.directory = directory;
+        loadIndex();
+    }
+
+    public static ThumbnailService getInstance() {
+        return INSTANCE;
+    }
+
+    // копирование выбранного файла в каталог изображений и подготовка уменьшенных копий.
+    // resourcePath - путь, по которому экраны берут изображение из classpath (/images/paintings/x.jpg):
+    // копии находятся и по URL ресурса, в том числе когда файл попадет в classpath после сборки
+    public Path importImage(Path source, Path targetDir, String resourcePath) throws IOException {
+        Files.createDirectories(targetDir);
+        Path target = targetDir.resolve(source.getFileName());
+
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        String url = target.toUri().toString();
+        Entry entry = new Entry(Files.getLastModifiedTime(target).toMillis(), Files.size(target),
+            HexFormat.of().formatHex(digest.digest()));
+        index.put(url, entry);
+        index.put(resourcePath, entry);
+        worker.submit(this::saveIndex);
+        schedule(url);
+        return target;
+    }
+
+    // готовая уменьшенная копия для показа в size точках, иначе null (и генерация в фоне).
+    // Блокирующий вызов (проверка оригинала и файлов копий), не из FX потока
+    public String find(String url, double size) {
+        Tier tier = Tier.forSize(size);
+        if (tier == null) return null;
+
+        long[] stamp = stamp(url);
+        Entry entry = stamp != null ? known(url, stamp) : null;
+        if (entry != null) {
+            Path file = existing(entry.hash(), tier);
+            if (file != null) return file.toUri().toString();
+        }
+
+        schedule(url);
+        return null;
+    }
+
+    private void schedule(String url) {
+        if (!scheduled.add(url)) return;
+        worker.submit(() -> {
+            try {
+                generate(url);
+            } catch (Exception e) {
+                log.warn("Не удалось создать уменьшенные копии: {}", url, e);
+            } finally {
+                scheduled.remove(url);
+            }
+        });
+    }
+
+    // SHA-256 содержимого (пересчитывается, только если оригинал изменился). Блокирующий вызов
+    public String contentHash(String url) throws IOException {
+        long[] stamp = stamp(url);
+        if (stamp == null) {
+            throw new IOException("Изображение не найдено: " + url);
+        }
+
+        Entry entry = known(url, stamp);
+        if (entry == null) {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(URI.create(url).toURL().openStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            entry = new Entry(stamp[0], stamp[1], HexFormat.of().formatHex(digest.digest()));
+            index.put(url, entry);
+            saveIndex();
+        }
+        return entry.hash();
+    }
+
+    // хэш оригинала без чтения содержимого: запись по URL или по пути ресурса из импорта
+    private Entry known(String url, long[] stamp) {
+        Entry entry = index.get(url);
+        if (entry != null && entry.lastModified() == stamp[0] && entry.length() == stamp[1]) {
+            return entry;
+        }
+
+        // URL ресурса (file:.../classes/images/..., jar:...!/images/...) заканчивается путем ресурса
+        for (int i = url.indexOf('/'); i >= 0; i = url.indexOf('/', i + 1)) {
+            Entry imported = index.get(url.substring(i));
+            if (imported != null && imported.length() == stamp[1]) {
+                entry = new Entry(stamp[0], stamp[1], imported.hash());
+                index.put(url, entry);
+                worker.submit(this::saveIndex);
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // запись недостающих уровней
+    private void generate(String url) throws IOException {
+        String hash = contentHash(url);
+
+        BufferedImage original = null;
+        for (Tier tier : Tier.values()) {
+            if (existing(hash, tier) != null) continue;
+
+            if (original == null) {
+                try (InputStream in = URI.create(url).toURL().openStream()) {
+                    original = ImageIO.read(in);
+                }
+                if (original == null) {
+                    throw new IOException("Неподдерживаемый формат изображения");
+                }
+            }
+            write(scale(original, tier.getSize()), hash, tier);
+        }
+    }
+
+    private void write(BufferedImage image, String hash, Tier tier) throws IOException {
+        boolean alpha = image.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        Path file = tierFile(hash, tier, format);
+        Files.createDirectories(file.getParent());
+
+        // запись во временный файл, чтобы не показать недописанную копию
+        Path tmp = Files.createTempFile(file.getParent(), hash, ".tmp");
+        try {
+            if (!ImageIO.write(image, format, tmp.toFile())) {
+                throw new IOException("Нет записи для формата " + format);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // уменьшение в несколько шагов по половине, чтобы не было ступенек
+    private static BufferedImage scale(BufferedImage source, int maxSide) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(source.getWidth(), source.getHeight()));
+        int targetW = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetH = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != targetW || h != targetH);
+        return current;
+    }
+
+    private Path existing(String hash, Tier tier) {
+        for (String format : new String[]{"jpg", "png"}) {
+            Path file = tierFile(hash, tier, format);
+            if (Files.exists(file)) return file;
+        }
+        return null;
+    }
+
+    private Path tierFile(String hash, Tier tier, String format) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash + "_" + tier.name().toLowerCase() + "." + format);
+    }
+
+    // время изменения и размер оригинала
+    private static long[] stamp(String url) {
+        try {
+            URI uri = URI.create(url);
+            if ("file".equals(uri.getScheme())) {
+                Path path = Paths.get(uri);
+                if (!Files.exists(path)) return null;
+                return new long[]{Files.getLastModifiedTime(path).toMillis(), Files.size(path)};
+            }
+            URLConnection connection = uri.toURL().openConnection();
+            return new long[]{connection.getLastModified(), connection.getContentLengthLong()};
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void loadIndex() {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file)) return;
+
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать индекс уменьшенных копий", e);
+            return;
+        }
+        props.forEach((key, value) -> {
+            String[] parts = value.toString().split(":");
+            if (parts.length == 3) {
+                index.put(key.toString(), new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+            }
+        });
+    }
+
+    private synchronized void saveIndex() {
+        Properties props = new Properties();
+        index.forEach((url, e) -> props.setProperty(url, e.lastModified() + ":" + e.length() + ":" + e.hash()));
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "index", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "gallery thumbnails");
+            }
+            Files.move(tmp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить индекс уменьшенных копий", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path defaultDirectory() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        return dir != null && !dir.isBlank()
+            ? Paths.get(dir)
+            : Paths.get(System.getProperty("user.home"), ".gallery", "thumbnails");
+    }
+}
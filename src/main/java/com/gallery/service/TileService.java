@@ -0,0 +1,215 @@
+package com.gallery.service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// пирамида тайлов для просмотра больших изображений.
+// Уровень maxLevel - оригинал, каждый следующий вниз в 2 раза меньше, уровень 0 помещается в один тайл.
+// Тайлы лежат рядом с уменьшенными копиями: tiles/<хэш>/<уровень>/<столбец>_<строка>.<формат>
+public class TileService {
+    private static final Logger log = LoggerFactory.getLogger(TileService.class);
+
+    public static final int TILE_SIZE = 256;
+
+    private static final String INFO_FILE = "pyramid.properties";
+
+    // описание готовой пирамиды
+    public record Pyramid(Path directory, int width, int height, int tileSize, int maxLevel, String format) {
+
+        // масштаб уровня относительно оригинала
+        public double levelScale(int level) {
+            return Math.pow(2, level - maxLevel);
+        }
+
+        public int levelWidth(int level) {
+            return Math.ceilDiv(width, 1 << (maxLevel - level));
+        }
+
+        public int levelHeight(int level) {
+            return Math.ceilDiv(height, 1 << (maxLevel - level));
+        }
+
+        public String tileUrl(int level, int col, int row) {
+            return directory.resolve(String.valueOf(level)).resolve(col + "_" + row + "." + format).toUri().toString();
+        }
+    }
+
+    private static final TileService INSTANCE = new TileService();
+
+    private final ThumbnailService thumbnails = ThumbnailService.getInstance();
+    private final Map<String, CompletableFuture<Pyramid>> building = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gallery-tiles");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private TileService() {
+    }
+
+    public static TileService getInstance() {
+        return INSTANCE;
+    }
+
+    // пирамида для изображения из ресурсов приложения
+    public CompletableFuture<Pyramid> pyramidForResource(String resourcePath) {
+        URL url = resourcePath != null ? getClass().getResource(resourcePath) : null;
+        if (url == null) {
+            return CompletableFuture.failedFuture(new IOException("Ресурс не найден: " + resourcePath));
+        }
+        return pyramid(url.toExternalForm());
+    }
+
+    // пирамида для файла (например, сразу после импорта)
+    public CompletableFuture<Pyramid> pyramidForFile(Path file) {
+        return pyramid(file.toUri().toString());
+    }
+
+    // готовая пирамида с диска или построение в фоне
+    public CompletableFuture<Pyramid> pyramid(String url) {
+        return building.computeIfAbsent(url, u -> {
+            CompletableFuture<Pyramid> future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadOrBuild(u);
+                } catch (IOException e) {
+                    throw new RuntimeException("Ошибка построения тайлов: " + u, e);
+                }
+            }, worker);
+            future.whenComplete((p, e) -> building.remove(u));
+            return future;
+        });
+    }
+
+    private Pyramid loadOrBuild(String url) throws IOException {
+        String hash = thumbnails.contentHash(url);
+        Path dir = thumbnails.getDirectory().resolve("tiles").resolve(hash);
+
+        Pyramid existing = readInfo(dir);
+        if (existing != null) return existing;
+
+        long start = System.currentTimeMillis();
+        BufferedImage original;
+        try (InputStream in = URI.create(url).toURL().openStream()) {
+            original = ImageIO.read(in);
+        }
+        if (original == null) {
+            throw new IOException("Неподдерживаемый формат изображения");
+        }
+
+        boolean alpha = original.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        int maxLevel = 0;
+        while ((Math.max(original.getWidth(), original.getHeight()) >> maxLevel) > TILE_SIZE) {
+            maxLevel++;
+        }
+
+        // построение во временном каталоге, чтобы не оставить неполную пирамиду
+        Files.createDirectories(dir.getParent());
+        Path tmp = Files.createTempDirectory(dir.getParent(), hash + "_");
+        try {
+            BufferedImage level = original;
+            for (int l = maxLevel; l >= 0; l--) {
+                writeLevel(level, tmp.resolve(String.valueOf(l)), format);
+                if (l > 0) {
+                    level = half(level);
+                }
+            }
+
+            Properties info = new Properties();
+            info.setProperty("width", String.valueOf(original.getWidth()));
+            info.setProperty("height", String.valueOf(original.getHeight()));
+            info.setProperty("tileSize", String.valueOf(TILE_SIZE));
+            info.setProperty("maxLevel", String.valueOf(maxLevel));
+            info.setProperty("format", format);
+            try (OutputStream out = Files.newOutputStream(tmp.resolve(INFO_FILE))) {
+                info.store(out, "gallery tile pyramid");
+            }
+
+            Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteRecursively(tmp);
+        }
+
+        log.info("Тайлы построены: {} ({}x{}, уровней {}) за {} мс",
+            url, original.getWidth(), original.getHeight(), maxLevel + 1, System.currentTimeMillis() - start);
+        return readInfo(dir);
+    }
+
+    private static void writeLevel(BufferedImage image, Path dir, String format) throws IOException {
+        Files.createDirectories(dir);
+        int cols = (image.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (image.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                int x = c * TILE_SIZE;
+                int y = r * TILE_SIZE;
+                BufferedImage tile = image.getSubimage(x, y,
+                    Math.min(TILE_SIZE, image.getWidth() - x), Math.min(TILE_SIZE, image.getHeight() - y));
+                if (!ImageIO.write(tile, format, dir.resolve(c + "_" + r + "." + format).toFile())) {
+                    throw new IOException("Нет записи для формата " + format);
+                }
+            }
+        }
+    }
+
+    // следующий уровень: ровно половина с округлением вверх
+    private static BufferedImage half(BufferedImage image) {
+        int w = Math.ceilDiv(image.getWidth(), 2);
+        int h = Math.ceilDiv(image.getHeight(), 2);
+        BufferedImage next = new BufferedImage(w, h,
+            image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = next.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, w, h, null);
+        g.dispose();
+        return next;
+    }
+
+    private static Pyramid readInfo(Path dir) throws IOException {
+        Path file = dir.resolve(INFO_FILE);
+        if (!Files.exists(file)) return null;
+
+        Properties info = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            info.load(in);
+        }
+        return new Pyramid(dir,
+            Integer.parseInt(info.getProperty("width")),
+            Integer.parseInt(info.getProperty("height")),
+            Integer.parseInt(info.getProperty("tileSize")),
+            Integer.parseInt(info.getProperty("maxLevel")),
+            info.getProperty("format"));
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
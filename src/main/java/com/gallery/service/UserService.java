@@ -8,6 +8,7 @@ import java.util.List;
 
 public class UserService {
     private final UserRepository userRepository = new UserRepository();
+    private final SearchService searchService = SearchService.getInstance();
 
     // авторизация
     public User authenticate(String username, String rawPassword) {
@@ -39,6 +40,8 @@ public class UserService {
             user.setPassword(hashed);
         }
         userRepository.save(user);
+        searchService.userSaved(user.getId());
+        DataVersion.changed();
     }
 
     // поиск по логину
@@ -73,6 +76,8 @@ public class UserService {
 
         targetUser.setRole(newRole);
         userRepository.update(targetUser);
+        searchService.userSaved(targetUser.getId());
+        DataVersion.changed();
     }
 
     public void deleteUser(User targetUser, User currentUser) {
@@ -99,6 +104,8 @@ public class UserService {
         }
 
         userRepository.delete(targetUser);
+        searchService.userDeleted(targetUser.getId());
+        DataVersion.changed();
     }
 
 }
@@ -0,0 +1,217 @@
+package com.gallery.util;
+
+import javafx.geometry.HPos;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+// карточки пользовательских экранов, собранные кодом (раньше - разбор user_*_row.fxml на каждую карточку).
+// Разбор FXML и lookup по id занимали большую часть создания карточки, здесь узлы создаются
+// напрямую и доступны через поля. Разметка и классы стилей совпадают с user_*_row.fxml
+// (файлы остаются образцом разметки и для сравнения в app.CardBenchmark).
+public final class CardTemplates {
+
+    private CardTemplates() {}
+
+    // картина: изображение с названием и сведения с описанием
+    public static final class PaintingRow {
+        public final HBox root = new HBox(20);
+        public final ImageView imageView = new ImageView();
+        public final Label titleText = new Label();
+        public final Text artistText = text("user_painting_Text");
+        public final Text yearText = text("user_painting_Text");
+        public final Text genreText = text("user_painting_Text");
+        public final ScrollPane descriptionScroll;
+        public final Label descriptionText = new Label("Описание выставки...");
+
+        public PaintingRow() {
+            imageView.setFitWidth(300);
+            imageView.setFitHeight(300);
+            imageView.setPreserveRatio(false);
+            StackPane inner = styled(new StackPane(imageView), "user_painting_ImageView_inner_shadow");
+            StackPane outer = styled(new StackPane(inner), "user_painting_ImageView_outer_shadow");
+
+            titleText.setWrapText(true);
+            titleText.setMaxWidth(Double.MAX_VALUE);
+            titleText.getStyleClass().add("user_painting_Label_img");
+
+            VBox imageBox = new VBox(10, outer, titleText);
+            imageBox.setPrefSize(300, 300);
+            imageBox.setAlignment(Pos.CENTER);
+
+            VBox facts = new VBox(5,
+                fact("Художник:", artistText), fact("Год:", yearText), fact("Жанр:", genreText));
+            facts.setPrefWidth(400);
+            facts.setMaxWidth(400);
+
+            descriptionText.setWrapText(true);
+            descriptionText.getStyleClass().add("painting_description_Label");
+            descriptionScroll = scroll(descriptionText, 135, "painting_ScrollPane_description");
+
+            VBox info = new VBox(5, facts, label("Описание:", "user_painting_Label"), descriptionScroll);
+            info.setAlignment(Pos.CENTER_LEFT);
+            info.setPrefWidth(300);
+            info.setMinWidth(300);
+            info.setMaxWidth(300);
+            info.setStyle("-fx-padding: 0 0 45 0;");
+
+            root.setPrefSize(700, 350);
+            root.setMaxSize(700, 500);
+            root.getStyleClass().add("user_painting_HBox");
+            root.getChildren().addAll(imageBox, info);
+        }
+
+        private static HBox fact(String name, Text value) {
+            HBox row = new HBox(5, label(name, "user_painting_Label"), value);
+            row.setAlignment(Pos.CENTER_LEFT);
+            return row;
+        }
+    }
+
+    // автор: имя, фото, даты жизни и биография
+    public static final class ArtistRow {
+        public final VBox root = new VBox(10);
+        public final Label fullNameLabel = new Label("ФИО автора");
+        public final ImageView photoImageView = new ImageView();
+        public final Label datesLabel = new Label();
+        public final ScrollPane biographyScroll;
+        public final Label biographyLabel = new Label("Биография автора");
+
+        public ArtistRow() {
+            fullNameLabel.setWrapText(true);
+            fullNameLabel.setMaxWidth(Double.MAX_VALUE);
+            fullNameLabel.setAlignment(Pos.CENTER);
+            fullNameLabel.getStyleClass().add("user_artist_Label_img");
+
+            photoImageView.setFitWidth(250);
+            photoImageView.setFitHeight(250);
+            photoImageView.setPreserveRatio(true);
+            StackPane photo = new StackPane(photoImageView);
+            photo.setPrefHeight(340);
+            photo.setMaxHeight(340);
+
+            datesLabel.getStyleClass().add("user_artist_Label_date");
+            datesLabel.setTextAlignment(TextAlignment.CENTER);
+
+            VBox photoBox = new VBox(10, photo, datesLabel);
+            photoBox.setAlignment(Pos.CENTER);
+
+            biographyLabel.setWrapText(true);
+            biographyLabel.getStyleClass().add("artist_Label_description");
+            biographyScroll = scroll(biographyLabel, 200, "artist_ScrollPane_description");
+
+            root.setAlignment(Pos.TOP_CENTER);
+            root.setStyle("-fx-padding: 20; -fx-border-color: #4c4c4c; -fx-border-width: 2px; -fx-border-radius: 10; " +
+                "-fx-background-radius: 10; -fx-background-color: #dcdcdc;");
+            root.setPrefSize(500, 500);
+            root.setMaxSize(500, 500);
+            root.getChildren().addAll(fullNameLabel, photoBox, biographyScroll);
+        }
+    }
+
+    // выставка: таблица сведений и даты проведения
+    public static final class ExhibitionRow {
+        public final VBox root = new VBox(15);
+        public final Label titleText = value();
+        public final Label genresText = value();
+        public final Label artistsText = value();
+        public final Label paintingsText = value();
+        public final ScrollPane descriptionScroll;
+        public final Label descriptionText = new Label("Описание выставки...");
+        public final Text datesText = text("user_exhibition_Text_data");
+
+        public ExhibitionRow() {
+            GridPane grid = new GridPane();
+            grid.setHgap(10);
+            grid.setVgap(10);
+
+            ColumnConstraints names = new ColumnConstraints();
+            names.setHalignment(HPos.RIGHT);
+            names.setMinWidth(90);
+            ColumnConstraints values = new ColumnConstraints();
+            values.setHalignment(HPos.LEFT);
+            values.setPrefWidth(500);
+            values.setMaxWidth(500);
+            values.setHgrow(Priority.ALWAYS);
+            grid.getColumnConstraints().addAll(names, values);
+
+            grid.addRow(0, label("Название:", "user_exhibition_Label"), titleText);
+            grid.addRow(1, label("Жанры:", "user_exhibition_Label"), genresText);
+            grid.addRow(2, label("Авторы:", "user_exhibition_Label"), artistsText);
+            grid.addRow(3, label("Картины:", "user_exhibition_Label"), paintingsText);
+
+            Label descriptionName = label("Описание:", "user_exhibition_Label");
+            GridPane.setValignment(descriptionName, VPos.CENTER);
+            descriptionText.setWrapText(true);
+            descriptionText.getStyleClass().add("exhibition_description_Label");
+            descriptionScroll = scroll(descriptionText, 135, "exhibition_ScrollPane_description");
+            GridPane.setHgrow(descriptionScroll, Priority.ALWAYS);
+            grid.addRow(4, descriptionName, descriptionScroll);
+
+            HBox dates = new HBox(datesText);
+            dates.setAlignment(Pos.CENTER_RIGHT);
+
+            root.setPrefSize(600, 350);
+            root.setMaxSize(600, 600);
+            root.getStyleClass().add("user_exhibition_VBox");
+            root.getChildren().addAll(grid, dates);
+        }
+
+        private static Label value() {
+            Label label = new Label();
+            label.setWrapText(true);
+            label.getStyleClass().add("user_exhibition_Text");
+            return label;
+        }
+    }
+
+    // пользователь: логин, роль и удаление
+    public static final class UserRow {
+        public final HBox root = new HBox(10);
+        public final Label usernameLabel = label("Username", "username_Label");
+        public final ComboBox<String> roleComboBox = new ComboBox<>();
+        public final Button deleteButton = new Button();
+
+        public UserRow() {
+            roleComboBox.setPrefWidth(100);
+            deleteButton.setStyle("-fx-text-fill: red; -fx-font-size: 20; -fx-padding: 0 5 0 5");
+
+            root.setAlignment(Pos.CENTER_LEFT);
+            root.getChildren().addAll(usernameLabel, roleComboBox, deleteButton);
+        }
+    }
+
+    private static Label label(String text, String styleClass) {
+        return styled(new Label(text), styleClass);
+    }
+
+    private static Text text(String styleClass) {
+        return styled(new Text(), styleClass);
+    }
+
+    private static ScrollPane scroll(Node content, double height, String styleClass) {
+        ScrollPane scroll = styled(new ScrollPane(content), styleClass);
+        scroll.setFitToWidth(true);
+        scroll.setPrefHeight(height);
+        scroll.setMaxHeight(height);
+        return scroll;
+    }
+
+    private static <T extends Node> T styled(T node, String styleClass) {
+        node.getStyleClass().add(styleClass);
+        return node;
+    }
+}
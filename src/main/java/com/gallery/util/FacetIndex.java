@@ -0,0 +1,71 @@
+package com.gallery.util;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// фасеты списка: для каждого значения фильтра - битовая карта позиций элементов, у которых оно есть.
+// Выбор фильтров - пересечение карт, количество подходящих элементов - cardinality,
+// без перебора элементов и их связей. Индекс строится один раз после загрузки списка.
+public class FacetIndex<F> {
+
+    private final int size;
+    // фасет -> значение -> позиции элементов (значения в порядке добавления)
+    private final Map<F, Map<Object, BitSet>> facets = new HashMap<>();
+
+    public FacetIndex(int size) {
+        this.size = size;
+    }
+
+    // элемент на позиции item имеет значение value фасета facet (значений может быть несколько)
+    public void add(F facet, Object value, int item) {
+        if (value == null) return;
+        facets.computeIfAbsent(facet, f -> new LinkedHashMap<>())
+            .computeIfAbsent(value, v -> new BitSet(size))
+            .set(item);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // все позиции
+    public BitSet all() {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    // позиции элементов, подходящих под выбранные значения (null - фасет не выбран);
+    // except - фасет, выбор которого не учитывается (для подсчета его собственных значений)
+    public BitSet matching(Map<F, ?> selected, F except) {
+        BitSet result = all();
+        for (Map.Entry<F, ?> entry : selected.entrySet()) {
+            if (entry.getValue() == null || entry.getKey().equals(except)) continue;
+
+            BitSet items = facets.getOrDefault(entry.getKey(), Map.of()).get(entry.getValue());
+            if (items == null) {
+                result.clear();
+                break;
+            }
+            result.and(items);
+        }
+        return result;
+    }
+
+    // значения фасета, у которых есть элементы среди within, и их количество
+    @SuppressWarnings("unchecked")
+    public <V> Map<V, Integer> counts(F facet, BitSet within) {
+        Map<V, Integer> counts = new LinkedHashMap<>();
+        BitSet common = new BitSet(size);
+        for (Map.Entry<Object, BitSet> entry : facets.getOrDefault(facet, Map.of()).entrySet()) {
+            common.clear();
+            common.or(entry.getValue());
+            common.and(within);
+            int count = common.cardinality();
+            if (count > 0) counts.put((V) entry.getKey(), count);
+        }
+        return counts;
+    }
+}
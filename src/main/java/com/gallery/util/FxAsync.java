@@ -0,0 +1,100 @@
+package com.gallery.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// выполнение обращений к сервисам вне FX потока.
+// Работа идет в виртуальных потоках, результат возвращается в FX поток через Platform.runLater.
+public final class FxAsync {
+    private static final Logger log = LoggerFactory.getLogger(FxAsync.class);
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gallery-io-", 0).factory());
+
+    private FxAsync() {}
+
+    // результат в фоне, зависимые действия (thenAccept и т.п.) выполняются в FX потоке
+    public static <T> CompletableFuture<T> supply(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                T value = work.call();
+                Platform.runLater(() -> result.complete(value));
+            } catch (Throwable e) {
+                Platform.runLater(() -> result.completeExceptionally(e));
+            }
+        });
+        return result;
+    }
+
+    // выполнить в фоне и передать результат в FX поток
+    public static <T> void run(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        supply(work).whenComplete((value, e) -> {
+            if (e == null) {
+                onSuccess.accept(value);
+            } else {
+                onError.accept(unwrap(e));
+            }
+        });
+    }
+
+    // ошибка только в лог
+    public static <T> void run(Callable<T> work, Consumer<T> onSuccess) {
+        run(work, onSuccess, e -> log.error("Ошибка фоновой операции", e));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    // последний запрос одного места вызова: новый запрос отменяет предыдущий,
+    // а результат устаревшего (уже выполняющегося) запроса отбрасывается.
+    // Методы вызываются из FX потока.
+    public static final class Latest {
+        private Future<?> current;
+        private long generation;
+
+        public <T> void submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            long gen = ++generation;
+            if (current != null) {
+                current.cancel(false); // без прерывания: JDBC соединение не должно закрыться посреди запроса
+            }
+
+            current = EXECUTOR.submit(() -> {
+                try {
+                    T value = work.call();
+                    Platform.runLater(() -> {
+                        if (gen == generation) onSuccess.accept(value);
+                    });
+                } catch (Throwable e) {
+                    Platform.runLater(() -> {
+                        if (gen == generation) onError.accept(e);
+                    });
+                }
+            });
+        }
+
+        public <T> void submit(Callable<T> work, Consumer<T> onSuccess) {
+            submit(work, onSuccess, e -> log.error("Ошибка фоновой операции", e));
+        }
+
+        // отменить текущий запрос
+        public void cancel() {
+            generation++;
+            if (current != null) {
+                current.cancel(false);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.gallery.util;
+
+import com.gallery.repository.PageRequest;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// ObservableList для TableView, который подгружает строки страницами по мере прокрутки (в фоне).
+// В памяти держится только несколько последних страниц, поиск и сортировка выполняются в БД.
+public class LazyPagedList<T> extends ObservableListBase<T> {
+    private static final Logger log = LoggerFactory.getLogger(LazyPagedList.class);
+
+    // источник данных: количество строк и загрузка одной страницы
+    public interface PageSource<T> {
+        long count(String search);
+
+        List<T> load(PageRequest page);
+    }
+
+    private final PageSource<T> source;
+    private final Function<T, Object> idOf;
+    private final Map<String, Function<T, Object>> sortValues;
+    private final int pageSize;
+
+    private String search = "";
+    private String sortField = "id";
+    private boolean ascending = true;
+    private int size;
+
+    // загруженные страницы (LRU) и keyset-закладки: последняя строка каждой страницы
+    private final Map<Integer, List<T>> pages;
+    private final Map<Integer, Object[]> bookmarks = new HashMap<>();
+    // страницы, которые сейчас грузятся, и номер текущего обновления
+    private final Set<Integer> loading = new HashSet<>();
+    // страницы с ошибкой загрузки: повтор после паузы (растет с числом ошибок) или при refresh()
+    private record Failure(int attempts, long retryAt) {}
+    private final Map<Integer, Failure> failed = new HashMap<>();
+    private long generation;
+
+    private static final long RETRY_MIN_MS = 1_000;
+    private static final long RETRY_MAX_MS = 30_000;
+
+    public LazyPagedList(PageSource<T> source, Function<T, Object> idOf,
+                         Map<String, Function<T, Object>> sortValues, int pageSize, int maxPages) {
+        this.source = source;
+        this.idOf = idOf;
+        this.sortValues = sortValues;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    // подключение к таблице: сортировка по колонке уходит в запрос
+    public void bindTo(TableView<T> table, Map<TableColumn<T, ?>, String> sortColumns) {
+        table.getColumns().forEach(col -> col.setSortable(sortColumns.containsKey(col)));
+        table.setSortPolicy(t -> {
+            if (t.getSortOrder().isEmpty()) {
+                setSort("id", true);
+            } else {
+                TableColumn<T, ?> column = t.getSortOrder().get(0);
+                setSort(sortColumns.getOrDefault(column, "id"), column.getSortType() == TableColumn.SortType.ASCENDING);
+            }
+            return true;
+        });
+        table.setItems(this);
+    }
+
+    // новый поиск, результат - количество найденных строк (в FX потоке)
+    public CompletableFuture<Integer> setSearch(String search) {
+        this.search = search == null ? "" : search.trim();
+        return refresh();
+    }
+
+    public void setSort(String sortField, boolean ascending) {
+        if (sortField.equals(this.sortField) && ascending == this.ascending) return;
+        this.sortField = sortField;
+        this.ascending = ascending;
+        refresh();
+    }
+
+    // перечитать количество в фоне и сбросить загруженные страницы
+    public CompletableFuture<Integer> refresh() {
+        long gen = ++generation;
+        String query = search;
+        return FxAsync.supply(() -> source.count(query)).thenApply(count -> {
+            if (gen != generation) return size; // уже запрошено новое обновление
+
+            int oldSize = size;
+            size = (int) Math.min(Integer.MAX_VALUE, count);
+            pages.clear();
+            bookmarks.clear();
+            loading.clear();
+            failed.clear();
+
+            beginChange();
+            if (oldSize > 0) nextRemove(0, Collections.<T>nCopies(oldSize, null));
+            if (size > 0) nextAdd(0, size);
+            endChange();
+            return size;
+        });
+    }
+
+    // строка незагруженной страницы - null, пока страница грузится в фоне
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int pageIndex = index / pageSize;
+        List<T> rows = pages.get(pageIndex);
+        if (rows == null) {
+            loadPage(pageIndex);
+            return null;
+        }
+        int offset = index % pageSize;
+        // строки могли быть удалены после подсчета
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void loadPage(int pageIndex) {
+        // без паузы get() из ячеек таблицы повторял бы неудачный запрос в цикле
+        Failure failure = failed.get(pageIndex);
+        if (failure != null && System.currentTimeMillis() < failure.retryAt()) return;
+        if (!loading.add(pageIndex)) return;
+
+        // при поиске строки идут по релевантности, страницы берутся по offset
+        Object[] after = pageIndex > 0 && search.isEmpty() ? bookmarks.get(pageIndex - 1) : null;
+        PageRequest request = after != null
+            ? new PageRequest(search, sortField, ascending, after[0], after[1], 0, pageSize)
+            : new PageRequest(search, sortField, ascending, null, null, pageIndex * pageSize, pageSize);
+
+        long gen = generation;
+        FxAsync.run(() -> source.load(request), rows -> {
+            if (gen != generation) return; // список уже перечитан
+            loading.remove(pageIndex);
+            failed.remove(pageIndex);
+
+            pages.put(pageIndex, rows);
+            if (!rows.isEmpty()) {
+                T last = rows.get(rows.size() - 1);
+                Function<T, Object> sortValue = sortValues.getOrDefault(sortField, idOf);
+                bookmarks.put(pageIndex, new Object[]{sortValue.apply(last), idOf.apply(last)});
+            }
+
+            // таблица перерисует строки страницы
+            int from = pageIndex * pageSize;
+            int to = Math.min(size, from + pageSize);
+            if (from < to) {
+                beginChange();
+                nextReplace(from, to, Collections.<T>nCopies(to - from, null));
+                endChange();
+            }
+        }, e -> {
+            if (gen != generation) return;
+            loading.remove(pageIndex);
+
+            Failure previous = failed.get(pageIndex);
+            int attempts = previous == null ? 1 : previous.attempts() + 1;
+            long delay = Math.min(RETRY_MAX_MS, RETRY_MIN_MS << Math.min(attempts - 1, 5));
+            failed.put(pageIndex, new Failure(attempts, System.currentTimeMillis() + delay));
+            log.error("Ошибка загрузки страницы {} (попытка {}, повтор не раньше чем через {} мс)", pageIndex, attempts, delay, e);
+        });
+    }
+}
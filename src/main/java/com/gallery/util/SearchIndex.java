@@ -0,0 +1,234 @@
+package com.gallery.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// инвертированный индекс: слово -> ключи элементов, в тексте которых оно встречается.
+// Слова хранятся отсортированными, поэтому слово запроса ищется как префикс (поиск по мере ввода).
+// Несколько слов запроса - пересечение результатов. Методы потокобезопасны.
+// Слово с опечаткой (без точных совпадений) ищется по триграммам словаря, такие совпадения
+// получают вес по сходству и идут после точных. Кириллица индексируется и в латинской
+// транслитерации ("aivazovsky" находит "Айвазовский").
+public class SearchIndex<K> {
+
+    // слова короче не ищутся по сходству (слишком много случайных совпадений)
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // доля триграмм слова запроса, которая должна найтись в слове словаря
+    private static final double MIN_COVERAGE = 0.5;
+
+    private static final String[] LATIN = {
+        "a", "b", "v", "g", "d", "e", "zh", "z", "i", "y", "k", "l", "m", "n", "o", "p",
+        "r", "s", "t", "u", "f", "kh", "ts", "ch", "sh", "shch", "", "y", "", "e", "yu", "ya"};
+
+    private final TreeMap<String, Set<K>> postings = new TreeMap<>();
+    private final Map<K, Set<String>> tokensByKey = new HashMap<>();
+    // триграмма -> слова словаря, в которых она есть
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    // добавить или заменить тексты элемента
+    public synchronized void put(K key, Collection<String> texts) {
+        remove(key);
+        Set<String> tokens = new HashSet<>();
+        for (String text : texts) {
+            for (String token : tokenize(text)) {
+                tokens.add(token);
+                tokens.addAll(transliterations(token));
+            }
+        }
+        tokensByKey.put(key, tokens);
+        for (String token : tokens) {
+            Set<K> keys = postings.get(token);
+            if (keys == null) {
+                keys = new HashSet<>();
+                postings.put(token, keys);
+                for (String trigram : trigrams(token)) {
+                    trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(token);
+                }
+            }
+            keys.add(key);
+        }
+    }
+
+    public synchronized void remove(K key) {
+        Set<String> tokens = tokensByKey.remove(key);
+        if (tokens == null) return;
+        for (String token : tokens) {
+            Set<K> keys = postings.get(token);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                postings.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> words = trigrams.get(trigram);
+                    if (words != null && words.remove(token) && words.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    // оставить только указанные ключи (после каскадного удаления в БД)
+    public synchronized void retainAll(Collection<K> existing) {
+        Set<K> keep = new HashSet<>(existing);
+        for (K key : new ArrayList<>(tokensByKey.keySet())) {
+            if (!keep.contains(key)) remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        tokensByKey.clear();
+        trigrams.clear();
+    }
+
+    public synchronized int size() {
+        return tokensByKey.size();
+    }
+
+    // ключи элементов, содержащих все слова запроса (как префиксы или похожие слова), с весом:
+    // точное совпадение слова - 1, похожее - сходство триграмм (0..1). Порядок - по убыванию веса.
+    // null - пустой запрос
+    public synchronized Map<K, Double> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) return null;
+
+        Map<K, Double> result = null;
+        for (String word : new LinkedHashSet<>(words)) {
+            Map<K, Double> matches = new HashMap<>();
+            for (Set<K> keys : postings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                for (K key : keys) {
+                    matches.put(key, 1.0);
+                }
+            }
+            if (matches.isEmpty()) {
+                similar(word).forEach((token, similarity) -> {
+                    for (K key : postings.get(token)) {
+                        matches.merge(key, similarity, Math::max);
+                    }
+                });
+            }
+
+            if (result == null) {
+                result = matches;
+            } else {
+                result.keySet().retainAll(matches.keySet());
+                result.replaceAll((key, score) -> score + matches.get(key));
+            }
+            if (result.isEmpty()) break;
+        }
+
+        Map<K, Double> sorted = new LinkedHashMap<>();
+        result.entrySet().stream()
+            .sorted(Map.Entry.<K, Double>comparingByValue().reversed())
+            .forEachOrdered(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    // слова словаря, похожие на слово запроса: слово -> сходство (доля общих триграмм)
+    private Map<String, Double> similar(String word) {
+        Map<String, Double> result = new HashMap<>();
+        if (word.length() < MIN_FUZZY_LENGTH) return result;
+
+        Set<String> wordTrigrams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : wordTrigrams) {
+            for (String token : trigrams.getOrDefault(trigram, Set.of())) {
+                shared.merge(token, 1, Integer::sum);
+            }
+        }
+        shared.forEach((token, common) -> {
+            if (common < wordTrigrams.size() * MIN_COVERAGE) return;
+            int union = wordTrigrams.size() + trigrams(token).size() - common;
+            result.put(token, (double) common / union);
+        });
+        return result;
+    }
+
+    // триграммы слова с границами, как в pg_trgm: "  к", " ко", "кот", "от "
+    private static Set<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    // латинские записи слова на кириллице (пусто - кириллицы нет): й пишут и как "y", и как "i",
+    // окончания -ий/-ый обычно как "y" ("Айвазовский" - "ayvazovskiy", "aivazovskii", "aivazovsky")
+    private static Set<String> transliterations(String token) {
+        Set<String> result = new LinkedHashSet<>();
+        String strict = transliterate(token, LATIN['й' - 'а'], false);
+        if (strict == null) return result;
+        result.add(strict);
+        result.add(transliterate(token, "i", false));
+        result.add(transliterate(token, "i", true));
+        return result;
+    }
+
+    // латинская запись слова; null - кириллицы нет
+    private static String transliterate(String token, String shortI, boolean endingY) {
+        StringBuilder latin = null;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= 'а' && c <= 'я') {
+                if (latin == null) latin = new StringBuilder(token.substring(0, i));
+                if (endingY && i == token.length() - 2 && (c == 'и' || c == 'ы') && token.charAt(i + 1) == 'й') {
+                    latin.append("y");
+                    break;
+                }
+                latin.append(c == 'й' ? shortI : LATIN[c - 'а']);
+            } else if (latin != null) {
+                latin.append(c);
+            }
+        }
+        return latin != null && !latin.isEmpty() ? latin.toString() : null;
+    }
+
+    // слова текста: последовательности букв и цифр любого алфавита, без регистра.
+    // ё = е; у латиницы и других алфавитов снимается диакритика (é = e), кириллица остается
+    // как есть, иначе й совпала бы с и
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).replace('ё', 'е').replace('Ё', 'Е');
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.getType(cp) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(cp)) {
+                if (Character.UnicodeScript.of(cp) == Character.UnicodeScript.CYRILLIC) {
+                    token.appendCodePoint(Character.toLowerCase(cp));
+                } else {
+                    appendWithoutMarks(token, cp);
+                }
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    // буква без диакритических знаков в нижнем регистре
+    private static void appendWithoutMarks(StringBuilder token, int cp) {
+        String decomposed = Normalizer.normalize(new String(Character.toChars(cp)), Normalizer.Form.NFD);
+        decomposed.codePoints()
+            .filter(c -> Character.getType(c) != Character.NON_SPACING_MARK)
+            .forEach(c -> token.appendCodePoint(Character.toLowerCase(c)));
+    }
+}
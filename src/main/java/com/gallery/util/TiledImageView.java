@@ -0,0 +1,221 @@
+package com.gallery.util;
+
+import com.gallery.service.TileService.Pyramid;
+import javafx.geometry.Point2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Screen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// просмотр большого изображения по тайлам: загружаются только тайлы в видимой области
+// на подходящем уровне пирамиды, остальные вытесняются из LRU.
+// Пока тайлы не загружены, под ними видна растянутая уменьшенная копия.
+public final class TiledImageView extends Region {
+
+    private record TileKey(int level, int col, int row) {}
+
+    private final ImageView preview = new ImageView();
+    private final List<ImageView> tileViews = new ArrayList<>();
+    private final Map<TileKey, Image> tiles;
+
+    private Pyramid pyramid;
+
+    // масштаб относительно "вписать в окно" и смещение изображения при увеличении
+    private double zoom = 1.0;
+    private double offsetX;
+    private double offsetY;
+
+    public TiledImageView(int maxTiles) {
+        tiles = new LinkedHashMap<>(maxTiles, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, Image> eldest) {
+                return size() > maxTiles;
+            }
+        };
+
+        preview.setSmooth(true);
+        getChildren().add(preview);
+
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(widthProperty());
+        clip.heightProperty().bind(heightProperty());
+        setClip(clip);
+    }
+
+    // уменьшенная копия на время загрузки тайлов
+    public void setPreview(Image image) {
+        preview.setImage(image);
+        if (image != null && image.getProgress() < 1.0) {
+            image.progressProperty().addListener((obs, oldV, newV) -> {
+                if (newV.doubleValue() >= 1.0) requestLayout();
+            });
+        }
+        requestLayout();
+    }
+
+    public void setPyramid(Pyramid pyramid) {
+        this.pyramid = pyramid;
+        tiles.clear();
+        requestLayout();
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    // изменение масштаба с сохранением точки под курсором
+    public void zoomTo(double newZoom, double pivotX, double pivotY) {
+        double fit = fitScale();
+        if (fit <= 0) return;
+
+        Point2D origin = origin(fit * zoom);
+        double imageX = (pivotX - origin.getX()) / (fit * zoom);
+        double imageY = (pivotY - origin.getY()) / (fit * zoom);
+
+        zoom = newZoom;
+        offsetX = pivotX - imageX * fit * zoom;
+        offsetY = pivotY - imageY * fit * zoom;
+        requestLayout();
+    }
+
+    // сдвиг изображения
+    public void panBy(double dx, double dy) {
+        Point2D origin = origin(fitScale() * zoom);
+        offsetX = origin.getX() + dx;
+        offsetY = origin.getY() + dy;
+        requestLayout();
+    }
+
+    // максимальный масштаб, при котором видны пиксели оригинала
+    public double getFullResolutionZoom() {
+        double fit = fitScale();
+        return fit > 0 ? 1.0 / fit : 1.0;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double fit = fitScale();
+        if (fit <= 0) {
+            tileViews.forEach(v -> v.setVisible(false));
+            return;
+        }
+
+        double scale = fit * zoom; // точек экрана на пиксель оригинала
+        Point2D origin = origin(scale);
+        offsetX = origin.getX();
+        offsetY = origin.getY();
+
+        double displayW = imageWidth() * scale;
+        double displayH = imageHeight() * scale;
+        preview.setX(offsetX);
+        preview.setY(offsetY);
+        preview.setFitWidth(displayW);
+        preview.setFitHeight(displayH);
+
+        int used = pyramid != null ? layoutTiles(scale) : 0;
+        for (int i = used; i < tileViews.size(); i++) {
+            tileViews.get(i).setVisible(false);
+            tileViews.get(i).setImage(null);
+        }
+    }
+
+    private int layoutTiles(double scale) {
+        int level = levelFor(scale);
+        double levelScale = pyramid.levelScale(level);
+        int tileSize = pyramid.tileSize();
+        int levelW = pyramid.levelWidth(level);
+        int levelH = pyramid.levelHeight(level);
+
+        // размер тайла на экране
+        double step = tileSize / levelScale * scale;
+
+        int firstCol = Math.max(0, (int) Math.floor(-offsetX / step));
+        int firstRow = Math.max(0, (int) Math.floor(-offsetY / step));
+        int lastCol = Math.min(Math.ceilDiv(levelW, tileSize) - 1, (int) Math.floor((getWidth() - offsetX) / step));
+        int lastRow = Math.min(Math.ceilDiv(levelH, tileSize) - 1, (int) Math.floor((getHeight() - offsetY) / step));
+
+        int used = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Image image = tiles.computeIfAbsent(new TileKey(level, col, row),
+                    k -> new Image(pyramid.tileUrl(k.level(), k.col(), k.row()), true));
+
+                ImageView view = tileView(used++);
+                double w = Math.min(tileSize, levelW - col * tileSize) / levelScale * scale;
+                double h = Math.min(tileSize, levelH - row * tileSize) / levelScale * scale;
+                view.setImage(image);
+                view.setX(Math.floor(offsetX + col * step));
+                view.setY(Math.floor(offsetY + row * step));
+                // перекрытие на точку, чтобы не было швов между тайлами
+                view.setFitWidth(Math.ceil(w) + 1);
+                view.setFitHeight(Math.ceil(h) + 1);
+                view.setVisible(true);
+            }
+        }
+        return used;
+    }
+
+    // наименьший уровень, у которого хватает пикселей для текущего масштаба
+    private int levelFor(double scale) {
+        double needed = scale * outputScale();
+        for (int level = 0; level < pyramid.maxLevel(); level++) {
+            if (pyramid.levelScale(level) >= needed) return level;
+        }
+        return pyramid.maxLevel();
+    }
+
+    private ImageView tileView(int index) {
+        while (tileViews.size() <= index) {
+            ImageView view = new ImageView();
+            view.setSmooth(true);
+            view.setMouseTransparent(true);
+            tileViews.add(view);
+            getChildren().add(view);
+        }
+        return tileViews.get(index);
+    }
+
+    // левый верхний угол изображения: по центру, если помещается, иначе в пределах окна
+    private Point2D origin(double scale) {
+        double displayW = imageWidth() * scale;
+        double displayH = imageHeight() * scale;
+        double x = displayW <= getWidth() ? (getWidth() - displayW) / 2 : clamp(offsetX, getWidth() - displayW, 0);
+        double y = displayH <= getHeight() ? (getHeight() - displayH) / 2 : clamp(offsetY, getHeight() - displayH, 0);
+        return new Point2D(x, y);
+    }
+
+    private double fitScale() {
+        double w = imageWidth();
+        double h = imageHeight();
+        if (w <= 0 || h <= 0 || getWidth() <= 0 || getHeight() <= 0) return 0;
+        return Math.min(getWidth() / w, getHeight() / h);
+    }
+
+    private double imageWidth() {
+        if (pyramid != null) return pyramid.width();
+        return preview.getImage() != null ? preview.getImage().getWidth() : 0;
+    }
+
+    private double imageHeight() {
+        if (pyramid != null) return pyramid.height();
+        return preview.getImage() != null ? preview.getImage().getHeight() : 0;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double outputScale() {
+        try {
+            return Math.max(1.0, Screen.getPrimary().getOutputScaleX());
+        } catch (Exception e) {
+            return 1.0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.gallery.util;
+
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// виртуализированная сетка карточек: ListView, где каждая строка - несколько карточек.
+// Карточки создаются только для видимых строк и переиспользуются при прокрутке.
+public final class VirtualCardGrid<T, C> extends ListView<List<T>> {
+
+    // создание карточки, ее корневой узел и заполнение данными
+    public interface CardFactory<T, C> {
+        C create();
+
+        Node node(C card);
+
+        void bind(C card, T item);
+    }
+
+    private final Rows rows = new Rows();
+    private CardFactory<T, C> cardFactory;
+
+    private double cardWidth = 700;
+    private double hgap = 40;
+    private double vgap = 40;
+    private double sidePadding = 80;
+
+    public VirtualCardGrid() {
+        getStyleClass().add("card_grid");
+        setFocusTraversable(false);
+        setItems(rows);
+        setCellFactory(list -> new RowCell());
+
+        // количество столбцов зависит от ширины
+        widthProperty().addListener((obs, oldV, newV) -> rows.setColumns(columnsFor(newV.doubleValue())));
+    }
+
+    public void setCardFactory(CardFactory<T, C> cardFactory) {
+        this.cardFactory = cardFactory;
+    }
+
+    // размеры карточки и отступы между ними
+    public void setCardLayout(double cardWidth, double hgap, double vgap, double sidePadding) {
+        this.cardWidth = cardWidth;
+        this.hgap = hgap;
+        this.vgap = vgap;
+        this.sidePadding = sidePadding;
+        rows.setColumns(columnsFor(getWidth()));
+    }
+
+    // показать новый набор элементов (без пересоздания карточек)
+    public void setCards(List<T> items) {
+        rows.setCards(items);
+        scrollTo(0);
+    }
+
+    public List<T> getCards() {
+        return rows.cards;
+    }
+
+    private int columnsFor(double width) {
+        return Math.max(1, (int) ((width - 2 * sidePadding + hgap) / (cardWidth + hgap)));
+    }
+
+    // строки сетки как представление над плоским списком, без копирования
+    private class Rows extends ObservableListBase<List<T>> {
+        private List<T> cards = Collections.emptyList();
+        private int columns = 1;
+
+        void setCards(List<T> newCards) {
+            int oldSize = size();
+            cards = newCards;
+            fireReset(oldSize);
+        }
+
+        void setColumns(int newColumns) {
+            if (newColumns == columns) return;
+            int oldSize = size();
+            columns = newColumns;
+            fireReset(oldSize);
+        }
+
+        private void fireReset(int oldSize) {
+            beginChange();
+            if (oldSize > 0) nextRemove(0, Collections.<List<T>>nCopies(oldSize, null));
+            if (size() > 0) nextAdd(0, size());
+            endChange();
+        }
+
+        @Override
+        public List<T> get(int index) {
+            int from = index * columns;
+            return cards.subList(from, Math.min(from + columns, cards.size()));
+        }
+
+        @Override
+        public int size() {
+            return (cards.size() + columns - 1) / columns;
+        }
+    }
+
+    // строка сетки хранит свой набор карточек и перепривязывает их к новым данным
+    private class RowCell extends ListCell<List<T>> {
+        private final HBox box = new HBox();
+        private final List<C> cards = new ArrayList<>();
+
+        RowCell() {
+            box.setAlignment(Pos.CENTER);
+            setAlignment(Pos.CENTER);
+        }
+
+        @Override
+        protected void updateItem(List<T> row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null || cardFactory == null) {
+                setGraphic(null);
+                return;
+            }
+
+            box.setSpacing(hgap);
+            setPadding(new Insets(vgap / 2, sidePadding, vgap / 2, sidePadding));
+
+            while (cards.size() < row.size()) {
+                cards.add(cardFactory.create());
+            }
+            List<Node> nodes = new ArrayList<>(row.size());
+            for (int i = 0; i < row.size(); i++) {
+                C card = cards.get(i);
+                cardFactory.bind(card, row.get(i));
+                nodes.add(cardFactory.node(card));
+            }
+            box.getChildren().setAll(nodes);
+            setGraphic(box);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+-- V1: исходная схема (таблицы init.sql)
+
+-- пользователи
+CREATE TABLE users (
+    id SERIAL PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password VARCHAR(200) NOT NULL,
+    role VARCHAR(20) NOT NULL CHECK (role IN ('admin', 'user'))
+);
+
+-- художники
+CREATE TABLE artists (
+    id SERIAL PRIMARY KEY,
+    full_name VARCHAR(150) NOT NULL,
+    image VARCHAR(200),
+    birth_date DATE,
+    death_date DATE,  -- NULL = жив
+    biography TEXT
+);
+
+-- картины
+CREATE TABLE paintings (
+    id SERIAL PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    genre VARCHAR(100),
+    image VARCHAR(200),
+    year INT,
+    artist_id INT NOT NULL REFERENCES artists(id) ON DELETE CASCADE,
+    description TEXT
+);
+
+-- выставки
+CREATE TABLE exhibitions (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    location VARCHAR(200),
+    description TEXT
+);
+
+-- связь картин и выставок
+CREATE TABLE painting_exhibition (
+    id SERIAL PRIMARY KEY,
+    painting_id INT NOT NULL REFERENCES paintings(id) ON DELETE CASCADE,
+    exhibition_id INT NOT NULL REFERENCES exhibitions(id) ON DELETE CASCADE,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+
+    CHECK (start_date <= end_date)
+);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- ограничение пересечений дат
+ALTER TABLE painting_exhibition
+    ADD CONSTRAINT no_overlap
+        EXCLUDE USING gist (
+        painting_id WITH =,
+        daterange(start_date, end_date, '[]') WITH &&
+        );
@@ -0,0 +1,9 @@
+-- V2: сводные счетчики статистики (обновляются приложением, заполняются при первом обращении,
+-- пересчет - app.RebuildStats)
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    kind VARCHAR(20) NOT NULL,
+    bucket VARCHAR(200) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (kind, bucket)
+);
@@ -0,0 +1,29 @@
+-- V3: полнотекстовый поиск (вычисляемые tsvector + GIN индексы, триграммы для опечаток)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE paintings ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(genre, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(year::text, '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'D')) STORED;
+CREATE INDEX IF NOT EXISTS paintings_search_idx ON paintings USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS paintings_title_trgm_idx ON paintings USING gin (title gin_trgm_ops);
+
+ALTER TABLE artists ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(full_name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(full_name, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(biography, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(biography, '')), 'D')) STORED;
+CREATE INDEX IF NOT EXISTS artists_search_idx ON artists USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS artists_name_trgm_idx ON artists USING gin (full_name gin_trgm_ops);
+
+ALTER TABLE exhibitions ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(location, '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'D')) STORED;
+CREATE INDEX IF NOT EXISTS exhibitions_search_idx ON exhibitions USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS exhibitions_name_trgm_idx ON exhibitions USING gin (name gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- V4: шаг последовательности под pooled-оптимизатор Hibernate (allocationSize = 50 в PaintingExhibition).
+-- Отдельным скриптом, чтобы выполнялся и на базах, отмеченных версией 1 без применения V1;
+-- повторное применение ничего не меняет
+CREATE SEQUENCE IF NOT EXISTS painting_exhibition_id_seq;
+ALTER SEQUENCE painting_exhibition_id_seq INCREMENT BY 50;